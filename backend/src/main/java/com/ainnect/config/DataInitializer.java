@@ -1,26 +1,38 @@
 package com.ainnect.config;
 
+import com.ainnect.common.enums.ConversationType;
 import com.ainnect.entity.Role;
 import com.ainnect.entity.User;
 import com.ainnect.entity.UserRole;
 import com.ainnect.entity.UserRoleId;
+import com.ainnect.repository.CommunityRepository;
+import com.ainnect.repository.ConversationRepository;
+import com.ainnect.repository.JobCheckpointRepository;
+import com.ainnect.repository.MessageRepository;
+import com.ainnect.repository.NotificationRepository;
 import com.ainnect.repository.RoleRepository;
 import com.ainnect.repository.UserRepository;
 import com.ainnect.repository.UserRoleRepository;
+import com.ainnect.service.CheckpointedBackfill;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    private static final String DIRECT_PAIR_BACKFILL = "direct-conversation-pair-backfill";
+
     @Autowired
     private RoleRepository roleRepository;
 
@@ -33,11 +45,86 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private CheckpointedBackfill checkpointedBackfill;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
     @Override
     @Transactional
     public void run(String... args) {
         initializeRoles();
         initializeAdminUser();
+        registerGroupMemberCountBackfill();
+        backfillNotificationUpdatedAt();
+        registerConversationSummaryBackfill();
+        backfillMessageSequences();
+        backfillDirectConversationPairs();
+    }
+
+    private void backfillDirectConversationPairs() {
+        // duplicate pairs and conversations a member left stay unkeyed, so completion is recorded instead
+        if (jobCheckpointRepository.existsById(DIRECT_PAIR_BACKFILL)) {
+            return;
+        }
+        if (conversationRepository.existsByTypeAndDirectUserLowIsNull(ConversationType.direct)) {
+            int keyed = conversationRepository.backfillDirectPairs();
+            log.info("Backfilled participant pair key for {} direct conversations", keyed);
+        }
+        jobCheckpointRepository.insertIfAbsent(DIRECT_PAIR_BACKFILL, 0L);
+    }
+
+    private void backfillMessageSequences() {
+        if (!messageRepository.existsBySeqIsNull()) {
+            return;
+        }
+        int numbered = messageRepository.backfillSeqs();
+        int conversations = conversationRepository.recalculateLastSeqs();
+        log.info("Backfilled seq for {} messages across {} conversations", numbered, conversations);
+    }
+
+    private void registerConversationSummaryBackfill() {
+        checkpointedBackfill.register("conversation-summary-backfill", conversationRepository::findMaxId, (afterId, upToId) -> {
+            List<Long> conversationIds = conversationRepository.findIdsBetween(afterId, upToId, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+            if (conversationIds.isEmpty()) {
+                return upToId;
+            }
+            conversationRepository.recalculateMemberCounts(conversationIds);
+            conversationRepository.backfillLastMessages(conversationIds);
+            conversationRepository.backfillLastMessageTypes(conversationIds);
+            return conversationIds.size() < BACKFILL_CHUNK_SIZE ? upToId : conversationIds.get(conversationIds.size() - 1);
+        });
+    }
+
+    private void backfillNotificationUpdatedAt() {
+        int updated = notificationRepository.backfillUpdatedAt();
+        if (updated > 0) {
+            log.info("Backfilled updated_at for {} notifications", updated);
+        }
+    }
+
+    private void registerGroupMemberCountBackfill() {
+        checkpointedBackfill.register("group-member-count-backfill", communityRepository::findMaxId, (afterId, upToId) -> {
+            List<Long> groupIds = communityRepository.findIdsBetween(afterId, upToId, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+            if (groupIds.isEmpty()) {
+                return upToId;
+            }
+            communityRepository.recalculateMemberCounts(groupIds);
+            return groupIds.size() < BACKFILL_CHUNK_SIZE ? upToId : groupIds.get(groupIds.size() - 1);
+        });
     }
 
     private void initializeRoles() {
@@ -0,0 +1,64 @@
+package com.ainnect.config;
+
+import com.ainnect.service.WebSocketClusterBus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link WebSocketClusterBus} for running several application
+ * contexts in one JVM, such as local multi-node setups and tests, without
+ * Redis. Buses share one static set of topics; like Redis pub/sub, frames
+ * are delivered asynchronously, one at a time, in publish order.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.websocket.cluster.enabled:false} and '${app.websocket.cluster.bus:redis}' == 'memory'")
+public class InMemoryWebSocketClusterBus implements WebSocketClusterBus {
+
+    private static final Map<String, List<Consumer<byte[]>>> LISTENERS = new ConcurrentHashMap<>();
+    private static final ExecutorService DISPATCHER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ws-cluster-memory");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, List<Consumer<byte[]>>> own = new ConcurrentHashMap<>();
+
+    public InMemoryWebSocketClusterBus() {
+        log.info("WebSocket cluster delivery enabled on the in-memory bus");
+    }
+
+    @Override
+    public void publish(String topic, byte[] frame) {
+        DISPATCHER.execute(() -> {
+            for (Consumer<byte[]> listener : LISTENERS.getOrDefault(topic, List.of())) {
+                try {
+                    listener.accept(frame);
+                } catch (RuntimeException e) {
+                    log.warn("In-memory WS cluster listener failed: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<byte[]> listener) {
+        own.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+        LISTENERS.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        own.forEach((topic, listeners) -> LISTENERS.get(topic).removeAll(listeners));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ainnect.config;
+
+import com.ainnect.service.WebSocketClusterBus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub backed {@link WebSocketClusterBus}. Each topic maps to one
+ * channel under the configured prefix, shared by all nodes. Pub/sub is fire-and-forget: a node that is
+ * disconnected from Redis misses frames published meanwhile, which matches
+ * the in-memory broker dropping frames for sessions that are not connected.
+ * Received frames are dispatched on a single thread, so they reach the local
+ * broker in the order Redis delivered them. Publishing is handed to a single
+ * thread with a bounded queue as well, so a slow or unreachable Redis never
+ * blocks the delivery threads; frames that do not fit the queue are dropped.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.websocket.cluster.enabled:false} and '${app.websocket.cluster.bus:redis}' == 'redis'")
+public class RedisWebSocketClusterBus implements WebSocketClusterBus {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final String channel;
+    private final RedisMessageListenerContainer container;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ws-cluster-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor publisher;
+
+    public RedisWebSocketClusterBus(RedisConnectionFactory connectionFactory,
+                                    @Value("${app.websocket.cluster.channel:ainnect:ws}") String channel,
+                                    @Value("${app.websocket.cluster.publish-queue-capacity:10000}") int publishQueueCapacity) {
+        this.connectionFactory = connectionFactory;
+        this.channel = channel;
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(publishQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "ws-cluster-publish");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(dispatcher);
+        container.afterPropertiesSet();
+        container.start();
+        log.info("WebSocket cluster delivery enabled on Redis channels {}:*", channel);
+    }
+
+    @Override
+    public void publish(String topic, byte[] frame) {
+        byte[] topicChannel = channel(topic).getBytes(StandardCharsets.UTF_8);
+        try {
+            publisher.execute(() -> {
+                try (RedisConnection connection = connectionFactory.getConnection()) {
+                    connection.publish(topicChannel, frame);
+                } catch (Exception e) {
+                    log.warn("Failed to publish WS frame to Redis: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("WS cluster publish queue full, dropping frame");
+        }
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<byte[]> listener) {
+        container.addMessageListener((message, pattern) -> listener.accept(message.getBody()),
+                new ChannelTopic(channel(topic)));
+    }
+
+    private String channel(String topic) {
+        return channel + ":" + topic;
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        publisher.shutdown();
+        container.destroy();
+        dispatcher.shutdown();
+    }
+}
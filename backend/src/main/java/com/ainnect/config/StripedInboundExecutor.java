@@ -0,0 +1,118 @@
+package com.ainnect.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executor for the STOMP client inbound channel. Frames are spread over
+ * single-threaded stripes, with SEND frames for
+ * {@code /app/conversations/{id}/...} keyed by conversation id and every
+ * other frame by session id. SENDs for one conversation are therefore
+ * handled in arrival order while different conversations run in parallel.
+ * Per-session order across stripes comes from the broker's preserved
+ * receive order, which releases a session's next frame only after the
+ * previous one was handled. Each stripe has a bounded queue; frames
+ * rejected by a full stripe surface to the client as delivery errors.
+ */
+@Slf4j
+@Component
+public class StripedInboundExecutor extends ThreadPoolTaskExecutor {
+
+    private static final Pattern CONVERSATION_DESTINATION = Pattern.compile("^/app/conversations/(\\d+)/");
+
+    private final ThreadPoolExecutor[] stripes;
+    private final AtomicLong[] rejected;
+    private final AtomicInteger unkeyed = new AtomicInteger();
+
+    public StripedInboundExecutor(@Value("${app.messaging.inbound.stripes:0}") int stripeCount,
+                                  @Value("${app.messaging.inbound.queue-capacity:10000}") int queueCapacity) {
+        int count = stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors();
+        this.stripes = new ThreadPoolExecutor[count];
+        this.rejected = new AtomicLong[count];
+        for (int i = 0; i < count; i++) {
+            String name = "ws-inbound-" + i;
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity), r -> {
+                        Thread thread = new Thread(r, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            rejected[i] = new AtomicLong();
+        }
+        // the inherited pool is never handed work; keep it minimal
+        setCorePoolSize(1);
+        setMaxPoolSize(1);
+        setThreadNamePrefix("ws-inbound-unused-");
+        log.info("STOMP inbound channel striped over {} threads (queue capacity {})", count, queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        int index = stripeIndex(task);
+        try {
+            stripes[index].execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected[index].incrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    public List<StripeStats> stats() {
+        List<StripeStats> stats = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stats.add(new StripeStats(i, stripes[i].getQueue().size(), stripes[i].getActiveCount() > 0,
+                    stripes[i].getCompletedTaskCount(), rejected[i].get()));
+        }
+        return stats;
+    }
+
+    public record StripeStats(int stripe, int queueDepth, boolean busy, long completed, long rejected) {}
+
+    private int stripeIndex(Runnable task) {
+        if (task instanceof MessageHandlingRunnable handling) {
+            Message<?> message = handling.getMessage();
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                    && destination != null) {
+                Matcher matcher = CONVERSATION_DESTINATION.matcher(destination);
+                if (matcher.find()) {
+                    return spread(matcher.group(1).hashCode());
+                }
+            }
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (sessionId != null) {
+                return spread(sessionId.hashCode());
+            }
+        }
+        return Math.floorMod(unkeyed.getAndIncrement(), stripes.length);
+    }
+
+    private int spread(int hash) {
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+}
@@ -1,12 +1,21 @@
 package com.ainnect.config;
 
+import com.ainnect.service.PresenceService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -15,9 +24,38 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private StripedInboundExecutor stripedInboundExecutor;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    @Lazy
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${app.websocket.heartbeat-ms:10000}")
+    private long heartbeatMillis;
+
+    @Override
+    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
+        registration.taskExecutor(stripedInboundExecutor);
+        // every inbound frame, heartbeats included, counts as activity
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+                presenceService.touch(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+                return message;
+            }
+        });
+    }
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        // server and client heartbeats keep idle sessions alive and feed presence last-seen
+        config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[] {heartbeatMillis, heartbeatMillis})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         
         config.setApplicationDestinationPrefixes("/app");
         
@@ -26,6 +64,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void registerStompEndpoints(@NonNull StompEndpointRegistry registry) {
+        // one session's frames are handed to the inbound executor one at a time, so a SEND
+        // keyed to a conversation stripe cannot overtake the SUBSCRIBE sent before it
+        registry.setPreserveReceiveOrder(true);
+
         String[] allowedOrigins = {
             "https://*.ainnect.me",
             "https://www.ainnect.me",
@@ -1,5 +1,7 @@
 package com.ainnect.config;
 
+import com.ainnect.service.PresenceService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
@@ -10,8 +12,11 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class WebSocketEventListener {
 
+    private final PresenceService presenceService;
+
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -28,6 +33,10 @@ public class WebSocketEventListener {
 
         log.info("WS CONNECT sessionId={}, user={}, ip={}, ua={}, origin={}, auth={}",
                 sessionId, username, ip, ua, origin, auth);
+
+        if (headerAccessor.getUser() != null) {
+            presenceService.connect(sessionId, headerAccessor.getUser().getName());
+        }
     }
 
     @EventListener
@@ -65,5 +74,7 @@ public class WebSocketEventListener {
 
         log.info("WS DISCONNECT sessionId={}, user={}, ip={}, ua={}, origin={}",
                 sessionId, username, ip, ua, origin);
+
+        presenceService.disconnect(sessionId);
     }
 }
@@ -3,9 +3,11 @@ package com.ainnect.controller;
 import com.ainnect.common.ApiResponse;
 import com.ainnect.common.enums.ActivityAction;
 import com.ainnect.config.JwtUtil;
+import com.ainnect.config.StripedInboundExecutor;
 import com.ainnect.dto.*;
 import com.ainnect.service.ActivityLogService;
 import com.ainnect.service.AdminService;
+import com.ainnect.service.NotificationDedupFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,6 +19,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -25,6 +29,8 @@ public class AdminController {
 
     private final AdminService adminService;
     private final ActivityLogService activityLogService;
+    private final NotificationDedupFilter notificationDedupFilter;
+    private final StripedInboundExecutor stripedInboundExecutor;
     private final JwtUtil jwtUtil;
     
     private Long getAdminIdFromRequest(HttpServletRequest request) {
@@ -56,6 +62,23 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/metrics/notification-dedup")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getNotificationDedupMetrics() {
+        NotificationDedupFilter.Stats stats = notificationDedupFilter.stats();
+        Map<String, Object> metrics = Map.of(
+                "definitelyNew", stats.definitelyNew(),
+                "confirmedDuplicates", stats.confirmedDuplicates(),
+                "unconfirmedHits", stats.unconfirmedHits(),
+                "unconfirmedHitRate", stats.unconfirmedHitRate());
+        return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Lấy thông tin bộ lọc trùng thông báo thành công", metrics));
+    }
+
+    @GetMapping("/metrics/ws-inbound")
+    public ResponseEntity<ApiResponse<List<StripedInboundExecutor.StripeStats>>> getWebSocketInboundMetrics() {
+        return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Lấy thông tin hàng đợi WebSocket thành công",
+                stripedInboundExecutor.stats()));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<Page<AdminUserDTO>>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
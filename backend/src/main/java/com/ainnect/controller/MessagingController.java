@@ -4,8 +4,11 @@ import com.ainnect.common.ApiResponse;
 import com.ainnect.config.JwtUtil;
 import com.ainnect.dto.messaging.MessagingDtos;
 import com.ainnect.entity.User;
+import com.ainnect.service.MessageDeliveryExecutor;
 import com.ainnect.service.MessageService;
+import com.ainnect.service.PresenceService;
 import com.ainnect.service.UserService;
+import com.ainnect.service.WebSocketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.security.Principal;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/messaging")
@@ -29,7 +33,10 @@ import java.security.Principal;
 public class MessagingController {
 
     private final MessageService messageService;
+    private final MessageDeliveryExecutor messageDeliveryExecutor;
     private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketService webSocketService;
+    private final PresenceService presenceService;
     private final JwtUtil jwtUtil;
     private final UserService userService;
     private final com.ainnect.service.FileStorageService fileStorageService;
@@ -96,6 +103,23 @@ public class MessagingController {
         }
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<ApiResponse<MessagingDtos.ConversationCursorResponse>> getConversationInbox(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            Long userId = extractUserIdFromToken(authHeader);
+            MessagingDtos.ConversationCursorResponse response = messageService.getConversationInbox(userId, cursor, size);
+            ApiResponse<MessagingDtos.ConversationCursorResponse> apiResponse = new ApiResponse<>(
+                    "SUCCESS", "Conversations retrieved successfully", response);
+            return ResponseEntity.ok(apiResponse);
+        } catch (Exception e) {
+            ApiResponse<MessagingDtos.ConversationCursorResponse> apiResponse = new ApiResponse<>("ERROR", e.getMessage(), null);
+            return ResponseEntity.badRequest().body(apiResponse);
+        }
+    }
+
     @GetMapping("/conversations/{conversationId}")
     public ResponseEntity<ApiResponse<MessagingDtos.ConversationResponse>> getConversation(
             @PathVariable("conversationId") Long conversationId,
@@ -131,6 +155,61 @@ public class MessagingController {
         }
     }
 
+    @GetMapping("/conversations/{conversationId}/messages/before")
+    public ResponseEntity<ApiResponse<MessagingDtos.MessageCursorResponse>> getMessagesBefore(
+            @PathVariable("conversationId") Long conversationId,
+            @RequestParam(value = "messageId", required = false) Long messageId,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            Long userId = extractUserIdFromToken(authHeader);
+            MessagingDtos.MessageCursorResponse response = messageService.getMessagesBefore(conversationId, userId, messageId, size);
+            ApiResponse<MessagingDtos.MessageCursorResponse> apiResponse = new ApiResponse<>(
+                    "SUCCESS", "Messages retrieved successfully", response);
+            return ResponseEntity.ok(apiResponse);
+        } catch (Exception e) {
+            ApiResponse<MessagingDtos.MessageCursorResponse> apiResponse = new ApiResponse<>("ERROR", e.getMessage(), null);
+            return ResponseEntity.badRequest().body(apiResponse);
+        }
+    }
+
+    @GetMapping("/conversations/{conversationId}/search")
+    public ResponseEntity<ApiResponse<MessagingDtos.MessageSearchResponse>> searchMessages(
+            @PathVariable("conversationId") Long conversationId,
+            @RequestParam("q") String query,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            Long userId = extractUserIdFromToken(authHeader);
+            MessagingDtos.MessageSearchResponse response = messageService.searchMessages(conversationId, userId, query, before, size);
+            ApiResponse<MessagingDtos.MessageSearchResponse> apiResponse = new ApiResponse<>(
+                    "SUCCESS", "Messages searched successfully", response);
+            return ResponseEntity.ok(apiResponse);
+        } catch (Exception e) {
+            ApiResponse<MessagingDtos.MessageSearchResponse> apiResponse = new ApiResponse<>("ERROR", e.getMessage(), null);
+            return ResponseEntity.badRequest().body(apiResponse);
+        }
+    }
+
+    @GetMapping("/conversations/{conversationId}/messages/after")
+    public ResponseEntity<ApiResponse<MessagingDtos.MessageCursorResponse>> getMessagesAfter(
+            @PathVariable("conversationId") Long conversationId,
+            @RequestParam("messageId") Long messageId,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            Long userId = extractUserIdFromToken(authHeader);
+            MessagingDtos.MessageCursorResponse response = messageService.getMessagesAfter(conversationId, userId, messageId, size);
+            ApiResponse<MessagingDtos.MessageCursorResponse> apiResponse = new ApiResponse<>(
+                    "SUCCESS", "Messages retrieved successfully", response);
+            return ResponseEntity.ok(apiResponse);
+        } catch (Exception e) {
+            ApiResponse<MessagingDtos.MessageCursorResponse> apiResponse = new ApiResponse<>("ERROR", e.getMessage(), null);
+            return ResponseEntity.badRequest().body(apiResponse);
+        }
+    }
+
     @PostMapping("/messages/{messageId}/reactions")
     public ResponseEntity<ApiResponse<Void>> reactMessage(
             @PathVariable("messageId") Long messageId,
@@ -193,6 +272,18 @@ public class MessagingController {
         }
     }
 
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Integer>> getTotalUnreadCount(
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            Long userId = extractUserIdFromToken(authHeader);
+            int unreadCount = messageService.getTotalUnreadCount(userId);
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Unread count retrieved successfully", unreadCount));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("ERROR", e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/conversations/{conversationId}/members")
     public ResponseEntity<ApiResponse<MessagingDtos.ConversationMemberListResponse>> getConversationMembers(
             @PathVariable("conversationId") Long conversationId,
@@ -225,19 +316,26 @@ public class MessagingController {
             }
             Long senderId = getUserIdFromAuthentication(auth);
             request.setConversationId(conversationId);
+            String username = auth.getName();
             
-            MessagingDtos.MessageResponse messageResponse = messageService.sendMessage(request, senderId);
-            
-            MessagingDtos.WebSocketMessage wsMessage = MessagingDtos.WebSocketMessage.builder()
-                    .type("NEW_MESSAGE")
-                    .data(messageResponse)
-                    .conversationId(conversationId)
-                    .senderId(senderId)
-                    .timestamp(messageResponse.getCreatedAt())
-                    .build();
-            
-            messagingTemplate.convertAndSend("/topic/conversations/" + conversationId, wsMessage);
-            messagingTemplate.convertAndSendToUser(auth.getName(), "/queue/messages", wsMessage);
+            // hand off without blocking the conversation's inbound stripe; writes keep submission order,
+            // and the broadcast runs on the conversation's delivery lane rather than a message-writer thread
+            messageService.sendMessageAsync(request, senderId).whenCompleteAsync((messageResponse, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    sendErrorToSession(message, conversationId, cause.getMessage());
+                    return;
+                }
+                MessagingDtos.WebSocketMessage wsMessage = MessagingDtos.WebSocketMessage.builder()
+                        .type("NEW_MESSAGE")
+                        .data(messageResponse)
+                        .conversationId(conversationId)
+                        .senderId(senderId)
+                        .timestamp(messageResponse.getCreatedAt())
+                        .build();
+                
+                webSocketService.sendMessageToConversationAndUser(conversationId, username, wsMessage);
+            }, messageDeliveryExecutor.forConversation(conversationId));
             
         } catch (Exception e) {
             sendErrorToSession(message, conversationId, e.getMessage());
@@ -256,16 +354,11 @@ public class MessagingController {
                 return;
             }
             Long userId = getUserIdFromAuthentication(auth);
+            request.setUserId(userId);
             
-            MessagingDtos.WebSocketMessage typingMessage = MessagingDtos.WebSocketMessage.builder()
-                    .type("TYPING")
-                    .data(request)
-                    .conversationId(conversationId)
-                    .senderId(userId)
-                    .timestamp(java.time.LocalDateTime.now())
-                    .build();
-            
-            messagingTemplate.convertAndSend("/topic/conversations/" + conversationId + "/typing", typingMessage);
+            if (presenceService.acceptTyping(conversationId, userId, request.isTyping())) {
+                webSocketService.sendTypingIndicator(conversationId, request);
+            }
             
         } catch (Exception e) {
         }
@@ -355,8 +448,9 @@ public class MessagingController {
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
         if (accessor.getUser() != null) {
-            messagingTemplate.convertAndSendToUser(accessor.getUser().getName(), "/queue/errors", errorMessage);
+            webSocketService.sendErrorToUser(accessor.getUser().getName(), errorMessage);
         } else {
+            // session-scoped destination, the session is connected to this node
             messagingTemplate.convertAndSend("/queue/errors-user" + accessor.getSessionId(), errorMessage);
         }
     }
@@ -2,6 +2,7 @@ package com.ainnect.controller;
 
 import com.ainnect.common.ApiResponse;
 import com.ainnect.config.JwtUtil;
+import com.ainnect.dto.notification.NotificationCursorResponse;
 import com.ainnect.dto.notification.NotificationResponse;
 import com.ainnect.dto.notification.NotificationStatsDto;
 import com.ainnect.service.NotificationService;
@@ -46,6 +47,41 @@ public class NotificationController {
         }
     }
     
+    @GetMapping("/inbox")
+    public ResponseEntity<ApiResponse<NotificationCursorResponse>> getInbox(
+            HttpServletRequest request,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Long userId = jwtUtil.getUserIdFromToken(request);
+            NotificationCursorResponse inbox = notificationService.getInbox(userId, before, size);
+            
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Notifications retrieved successfully", inbox));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse<>("ERROR", "Failed to retrieve notifications: " + e.getMessage(), null));
+        }
+    }
+    
+    @GetMapping("/sync")
+    public ResponseEntity<ApiResponse<NotificationCursorResponse>> syncNotifications(
+            HttpServletRequest request,
+            @RequestParam String since,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            Long userId = jwtUtil.getUserIdFromToken(request);
+            NotificationCursorResponse changes = notificationService.getChangesSince(userId, since, size);
+            
+            return ResponseEntity.ok(new ApiResponse<>("SUCCESS", "Notification changes retrieved successfully", changes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>("ERROR", e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse<>("ERROR", "Failed to sync notifications: " + e.getMessage(), null));
+        }
+    }
+    
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<NotificationStatsDto>> getNotificationStats(HttpServletRequest request) {
         try {
@@ -18,6 +18,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/profiles")
@@ -33,10 +38,13 @@ public class ProfileController {
             @PathVariable("userId") Long userId,
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "fields", required = false) String fields,
             @RequestHeader("Authorization") String authHeader) {
         try {
             Long currentUserId = extractUserIdFromToken(authHeader);
-            ProfileDtos.ProfileResponse response = profileService.getUserProfile(userId, currentUserId, page, size);
+            ProfileDtos.ProfileResponse response = fields == null || fields.isBlank()
+                    ? profileService.getUserProfile(userId, currentUserId, page, size)
+                    : profileService.getUserProfile(userId, currentUserId, page, size, parseFields(fields));
             
             return ResponseEntity.ok(ApiResponse.<ProfileDtos.ProfileResponse>builder()
                     .result("SUCCESS")
@@ -814,6 +822,13 @@ public class ProfileController {
         }
     }
 
+    private Set<String> parseFields(String fields) {
+        return Arrays.stream(fields.split(","))
+                .map(field -> field.trim().toLowerCase(Locale.ROOT))
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
     private Long extractUserIdFromToken(String authHeader) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
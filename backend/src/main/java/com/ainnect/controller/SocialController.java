@@ -196,6 +196,20 @@ public class SocialController {
         }
     }
 
+    @GetMapping("/friends/presence")
+    public ResponseEntity<ApiResponse<java.util.List<SocialDtos.FriendPresenceResponse>>> getFriendsPresence(
+            @RequestHeader("Authorization") String authHeader) {
+        try {
+            Long userId = extractUserIdFromToken(authHeader);
+            java.util.List<SocialDtos.FriendPresenceResponse> response = socialService.getFriendsPresence(userId);
+            ApiResponse<java.util.List<SocialDtos.FriendPresenceResponse>> apiResponse = new ApiResponse<>("SUCCESS", "Friends presence retrieved successfully", response);
+            return ResponseEntity.ok(apiResponse);
+        } catch (Exception e) {
+            ApiResponse<java.util.List<SocialDtos.FriendPresenceResponse>> apiResponse = new ApiResponse<>("ERROR", e.getMessage(), null);
+            return ResponseEntity.badRequest().body(apiResponse);
+        }
+    }
+
     @GetMapping("/friend-requests")
     public ResponseEntity<ApiResponse<SocialDtos.FriendshipListResponse>> getFriendRequests(
             @RequestParam(value = "page", defaultValue = "0") int page,
@@ -110,6 +110,7 @@ public class MessagingDtos {
     public static class MessageResponse {
         private Long id;
         private Long conversationId;
+        private Long seq;
         private Long senderId;
         private String senderUsername;
         private String senderDisplayName;
@@ -185,6 +186,16 @@ public class MessagingDtos {
         private boolean hasPrevious;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConversationCursorResponse {
+        private List<ConversationResponse> conversations;
+        private String nextCursor;
+        private boolean hasMore;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -199,6 +210,44 @@ public class MessagingDtos {
         private boolean hasPrevious;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MessageCursorResponse {
+        private List<MessageResponse> messages;
+        private Long nextCursor;
+        private boolean hasMore;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HighlightRange {
+        private int start;
+        private int end;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MessageSearchHit {
+        private MessageResponse message;
+        private List<HighlightRange> highlights;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MessageSearchResponse {
+        private List<MessageSearchHit> hits;
+        private Long nextCursor;
+        private boolean hasMore;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
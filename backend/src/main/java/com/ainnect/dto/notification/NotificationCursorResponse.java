@@ -0,0 +1,16 @@
+package com.ainnect.dto.notification;
+
+import java.util.List;
+
+/**
+ * One page of the cursor-based inbox or of a delta sync.
+ * {@code nextBefore} pages further back through the inbox; {@code syncCursor}
+ * is the high-water mark to pass as {@code since} on the next sync.
+ */
+public record NotificationCursorResponse(
+    List<NotificationResponse> notifications,
+    Long nextBefore,
+    String syncCursor,
+    boolean hasMore,
+    Long unreadCount
+) {}
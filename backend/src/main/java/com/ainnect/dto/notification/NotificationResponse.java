@@ -4,6 +4,7 @@ import com.ainnect.common.enums.NotificationType;
 import com.ainnect.dto.user.UserBasicInfoDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record NotificationResponse(
     Long id,
@@ -15,5 +16,7 @@ public record NotificationResponse(
     String message,
     Boolean isRead,
     LocalDateTime createdAt,
-    LocalDateTime readAt
+    LocalDateTime readAt,
+    Integer actorCount,
+    List<Long> recentActorIds
 ) {}
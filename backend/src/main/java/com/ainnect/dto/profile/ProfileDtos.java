@@ -36,6 +36,27 @@ public class ProfileDtos {
         private ProfilePostsResponse posts;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProfileCore {
+        private Long userId;
+        private String username;
+        private String displayName;
+        private String bio;
+        private String avatarUrl;
+        private String coverUrl;
+        private String location;
+        private LocalDateTime joinedAt;
+        private SocialStatsResponse socialStats;
+        private List<EducationDtos.Response> educations;
+        private List<WorkExperienceDtos.Response> workExperiences;
+        private List<InterestDtos.Response> interests;
+        private List<LocationDtos.Response> locations;
+        private boolean complete;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
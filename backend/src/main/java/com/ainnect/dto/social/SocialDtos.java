@@ -78,6 +78,19 @@ public class SocialDtos {
         private LocalDateTime respondedAt;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private boolean isOnline;
+        private LocalDateTime lastSeenAt;
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FriendPresenceResponse {
+        private Long userId;
+        private boolean isOnline;
+        private LocalDateTime lastSeenAt;
     }
 
     @Getter
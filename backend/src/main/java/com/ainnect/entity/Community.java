@@ -44,6 +44,10 @@ public class Community {
 	@Builder.Default
 	private Boolean requiresApproval = false;
 
+	@Column(name = "member_count", nullable = false)
+	@Builder.Default
+	private Integer memberCount = 0;
+
 	@Column(name = "created_at", nullable = false)
 	private LocalDateTime createdAt;
 
@@ -1,6 +1,7 @@
 package com.ainnect.entity;
 
 import com.ainnect.common.enums.ConversationType;
+import com.ainnect.common.enums.MessageType;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,7 +13,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "conversations")
+@Table(name = "conversations", indexes = {
+	@Index(name = "idx_conversations_updated", columnList = "updated_at, id")
+}, uniqueConstraints = {
+	@UniqueConstraint(name = "uk_conversations_direct_pair", columnNames = {"direct_user_low", "direct_user_high"})
+})
 public class Conversation {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,5 +40,37 @@ public class Conversation {
 
 	@Column(name = "updated_at", nullable = false)
 	private LocalDateTime updatedAt;
+
+	@Column(name = "last_message_id")
+	private Long lastMessageId;
+
+	@Column(name = "last_message_sender_id")
+	private Long lastMessageSenderId;
+
+	@Column(name = "last_message_preview", length = 255)
+	private String lastMessagePreview;
+
+	// lets clients label attachment-only messages, whose preview is empty
+	@Enumerated(EnumType.STRING)
+	@Column(name = "last_message_type")
+	private MessageType lastMessageType;
+
+	@Column(name = "last_message_at")
+	private LocalDateTime lastMessageAt;
+
+	@Column(name = "member_count", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+	@Builder.Default
+	private Integer memberCount = 0;
+
+	@Column(name = "last_seq", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+	@Builder.Default
+	private Long lastSeq = 0L;
+
+	// set only for direct conversations: the smaller and larger participant id
+	@Column(name = "direct_user_low")
+	private Long directUserLow;
+
+	@Column(name = "direct_user_high")
+	private Long directUserHigh;
 }
 
@@ -36,5 +36,9 @@ public class ConversationMember {
 
 	@Column(name = "last_read_message_id")
 	private Long lastReadMessageId;
+
+	@Column(name = "unread_count", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+	@Builder.Default
+	private Integer unreadCount = 0;
 }
 
@@ -0,0 +1,25 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    // highest id the job has finished
+    @Column(name = "position", nullable = false)
+    private Long position;
+
+    // highest id the job has to cover; later rows are handled as they are written
+    @Column(name = "target", nullable = false)
+    private Long target;
+}
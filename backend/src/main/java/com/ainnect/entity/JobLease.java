@@ -0,0 +1,25 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "owner", length = 64, nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
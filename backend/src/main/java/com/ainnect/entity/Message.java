@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+	@Index(name = "idx_messages_conversation_id", columnList = "conversation_id, id")
+}, uniqueConstraints = {
+	@UniqueConstraint(name = "uk_messages_conversation_seq", columnNames = {"conversation_id", "seq"})
+})
 public class Message {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +31,9 @@ public class Message {
 	@JoinColumn(name = "sender_id", nullable = false)
 	private User sender;
 
+	@Column(name = "seq")
+	private Long seq;
+
 	@Column(name = "content", columnDefinition = "TEXT")
 	private String content;
 
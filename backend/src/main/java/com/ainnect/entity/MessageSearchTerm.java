@@ -0,0 +1,28 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One posting of the per-conversation message search index. Rows are only
+ * ever inserted or deleted, so they are always persisted without a lookup.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "message_search_terms", indexes = {
+	@Index(name = "idx_message_search_terms_lookup", columnList = "conversation_id, term, message_id")
+})
+public class MessageSearchTerm implements Persistable<MessageSearchTermId> {
+	@EmbeddedId
+	private MessageSearchTermId id;
+
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
@@ -0,0 +1,29 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class MessageSearchTermId implements Serializable {
+	@Column(name = "conversation_id")
+	private Long conversationId;
+
+	// binary collation: terms are already normalized and must compare exactly
+	@Column(name = "term", length = 64, columnDefinition = "VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL")
+	private String term;
+
+	@Column(name = "message_id")
+	private Long messageId;
+}
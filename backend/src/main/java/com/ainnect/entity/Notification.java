@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+	@Index(name = "idx_notifications_recipient_id", columnList = "recipient_id, id"),
+	@Index(name = "idx_notifications_recipient_updated", columnList = "recipient_id, updated_at, id")
+})
 public class Notification {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +43,15 @@ public class Notification {
 	@Column(name = "message", length = 500)
 	private String message;
 
+	@Column(name = "actor_count", columnDefinition = "INT NOT NULL DEFAULT 1")
+	private Integer actorCount;
+
+	/**
+	 * Most recent actors first, comma separated; capped at a few ids.
+	 */
+	@Column(name = "recent_actor_ids", length = 255)
+	private String recentActorIds;
+
 	@Column(name = "is_read", nullable = false)
 	private Boolean isRead = false;
 
@@ -49,4 +61,11 @@ public class Notification {
 
 	@Column(name = "read_at")
 	private LocalDateTime readAt;
+
+	/**
+	 * Bumped on every change that clients sync: creation, aggregation and
+	 * read-state updates. Drives the delta-sync cursor.
+	 */
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
 }
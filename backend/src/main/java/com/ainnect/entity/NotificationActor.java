@@ -0,0 +1,28 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * An actor counted into an aggregated notification. The primary key makes
+ * each actor count once per aggregate; rows go away with their notification.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_actors")
+public class NotificationActor {
+	@EmbeddedId
+	private NotificationActorId id;
+
+	@MapsId("notificationId")
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "notification_id")
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private Notification notification;
+}
@@ -0,0 +1,25 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class NotificationActorId implements Serializable {
+	@Column(name = "notification_id")
+	private Long notificationId;
+
+	@Column(name = "actor_id")
+	private Long actorId;
+}
@@ -70,6 +70,10 @@ public class User {
 	@Column(name = "deleted_at")
 	private LocalDateTime deletedAt;
 
+	// written only by PresenceService's monotonic flush; entity saves must not overwrite it
+	@Column(name = "last_seen_at", insertable = false, updatable = false)
+	private LocalDateTime lastSeenAt;
+
 	@OneToMany(mappedBy = "user")
 	private Set<UserRole> userRoles = new HashSet<>();
 }
@@ -0,0 +1,21 @@
+package com.ainnect.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_notification_stats")
+public class UserNotificationStats {
+    @Id
+    @Column(name = "user_id", columnDefinition = "BIGINT")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    @Builder.Default
+    private Integer unreadCount = 0;
+}
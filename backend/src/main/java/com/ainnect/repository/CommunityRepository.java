@@ -5,11 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -44,4 +47,29 @@ public interface CommunityRepository extends JpaRepository<Community, Long> {
            "c.deletedAt IS NULL " +
            "ORDER BY c.createdAt DESC")
     Page<Community> searchCommunities(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT c.id FROM Community c WHERE " +
+           "(LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "c.deletedAt IS NULL " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Page<Long> searchCommunityIds(@Param("keyword") String keyword, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner"})
+    List<Community> findByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Community c SET c.memberCount = c.memberCount + :delta WHERE c.id = :groupId")
+    int adjustMemberCount(@Param("groupId") Long groupId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Community c SET c.memberCount = (SELECT COUNT(gm) FROM GroupMember gm WHERE gm.group.id = c.id) " +
+           "WHERE c.id IN :groupIds")
+    int recalculateMemberCounts(@Param("groupIds") Collection<Long> groupIds);
+
+    @Query("SELECT c.id FROM Community c WHERE c.id > :afterId AND c.id <= :upToId ORDER BY c.id")
+    List<Long> findIdsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Community c")
+    long findMaxId();
 }
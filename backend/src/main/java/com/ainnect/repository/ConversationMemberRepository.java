@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -44,7 +45,121 @@ public interface ConversationMemberRepository extends JpaRepository<Conversation
 	@Query("SELECT CASE WHEN COUNT(cm) > 0 THEN true ELSE false END FROM ConversationMember cm WHERE cm.conversation.id = :conversationId AND cm.user.id = :userId AND cm.role = :role")
 	boolean existsByConversationIdAndUserIdAndRole(@Param("conversationId") Long conversationId, @Param("userId") Long userId, @Param("role") ConversationMemberRole role);
 	
+	@Modifying
 	@Query("DELETE FROM ConversationMember cm WHERE cm.conversation.id = :conversationId AND cm.user.id = :userId")
-	void deleteByConversationIdAndUserId(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
-}
+	int deleteByConversationIdAndUserId(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+	@EntityGraph(attributePaths = {"user"})
+	@Query("SELECT cm FROM ConversationMember cm WHERE cm.conversation.id IN :conversationIds ORDER BY cm.joinedAt ASC")
+	List<ConversationMember> findByConversationIdIn(@Param("conversationIds") java.util.Collection<Long> conversationIds);
+
+	@Query("SELECT cm.lastReadMessageId FROM ConversationMember cm WHERE cm.conversation.id = :conversationId AND cm.user.id = :userId")
+	Optional<Long> findLastReadMessageId(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+	@Query("SELECT cm.unreadCount FROM ConversationMember cm WHERE cm.conversation.id = :conversationId AND cm.user.id = :userId")
+	Optional<Integer> findUnreadCount(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+	@Query("SELECT COALESCE(SUM(cm.unreadCount), 0) FROM ConversationMember cm WHERE cm.user.id = :userId")
+	long sumUnreadCountByUserId(@Param("userId") Long userId);
+
+	/**
+	 * Per-member badge state for everyone in the conversation except
+	 * {@code excludeUserId}: username, unread in this conversation, unread overall.
+	 */
+	@Query("SELECT u.username, cm.unreadCount, SUM(other.unreadCount) FROM ConversationMember cm JOIN cm.user u, ConversationMember other " +
+	       "WHERE other.user.id = u.id AND cm.conversation.id = :conversationId AND u.id <> :excludeUserId " +
+	       "GROUP BY u.id, u.username, cm.unreadCount")
+	List<Object[]> findUnreadBadges(@Param("conversationId") Long conversationId, @Param("excludeUserId") Long excludeUserId);
+
+	@Query("SELECT u.username, cm.unreadCount, SUM(other.unreadCount) FROM ConversationMember cm JOIN cm.user u, ConversationMember other " +
+	       "WHERE other.user.id = u.id AND cm.conversation.id = :conversationId AND u.id = :userId " +
+	       "GROUP BY u.id, u.username, cm.unreadCount")
+	List<Object[]> findUnreadBadge(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+	@Query("SELECT cm.user.id FROM ConversationMember cm WHERE cm.conversation.id = :conversationId AND cm.user.id IN :userIds")
+	List<Long> findMemberUserIds(@Param("conversationId") Long conversationId, @Param("userIds") java.util.Collection<Long> userIds);
 
+	@Modifying
+	@Query(value = "UPDATE conversation_members SET unread_count = unread_count + :count " +
+	               "WHERE conversation_id = :conversationId AND user_id <> :senderId", nativeQuery = true)
+	int incrementUnreadCounts(@Param("conversationId") Long conversationId, @Param("senderId") Long senderId,
+	                          @Param("count") int count);
+
+	/**
+	 * Takes back a deleted message from members who had not read past it yet.
+	 * Members who joined after it was sent never counted it.
+	 */
+	@Modifying
+	@Query(value = "UPDATE conversation_members SET unread_count = GREATEST(unread_count - 1, 0) " +
+	               "WHERE conversation_id = :conversationId AND user_id <> :senderId AND joined_at <= :sentAt " +
+	               "AND (last_read_message_id IS NULL OR last_read_message_id < :messageId)", nativeQuery = true)
+	int decrementUnreadCounts(@Param("conversationId") Long conversationId, @Param("senderId") Long senderId,
+	                          @Param("messageId") Long messageId, @Param("sentAt") java.time.LocalDateTime sentAt);
+
+	/**
+	 * Moves the read pointer forward and recounts what is left after it. The
+	 * count only scans messages newer than the pointer. Pointers never move
+	 * backwards; the update matches no row in that case.
+	 */
+	@Modifying
+	@Query(value = "UPDATE conversation_members SET " +
+	               "unread_count = (SELECT COUNT(*) FROM messages m WHERE m.conversation_id = :conversationId " +
+	               "AND m.id > :messageId AND m.deleted_at IS NULL AND m.sender_id <> :userId), " +
+	               "last_read_message_id = :messageId " +
+	               "WHERE conversation_id = :conversationId AND user_id = :userId " +
+	               "AND (last_read_message_id IS NULL OR last_read_message_id < :messageId)", nativeQuery = true)
+	int markReadUpTo(@Param("conversationId") Long conversationId, @Param("userId") Long userId,
+	                 @Param("messageId") Long messageId);
+
+	/**
+	 * Batched form of {@link #markReadUpTo}. {@code receipts} is a JSON array
+	 * of {@code {"c": conversationId, "u": userId, "m": messageId}} entries,
+	 * expanded with JSON_TABLE so a whole batch is one statement.
+	 */
+	@Modifying
+	@Query(value = "UPDATE conversation_members cm JOIN JSON_TABLE(:receipts, '$[*]' COLUMNS(" +
+	               "c BIGINT PATH '$.c', u BIGINT PATH '$.u', m BIGINT PATH '$.m')) r " +
+	               "ON cm.conversation_id = r.c AND cm.user_id = r.u SET " +
+	               "cm.unread_count = (SELECT COUNT(*) FROM messages msg WHERE msg.conversation_id = r.c " +
+	               "AND msg.id > r.m AND msg.deleted_at IS NULL AND msg.sender_id <> r.u), " +
+	               "cm.last_read_message_id = r.m " +
+	               "WHERE cm.last_read_message_id IS NULL OR cm.last_read_message_id < r.m", nativeQuery = true)
+	int markReadUpToBatch(@Param("receipts") String receipts);
+
+	/**
+	 * The (conversation, user) pairs of {@code receipts}, in the format of
+	 * {@link #markReadUpToBatch}, whose read pointer is behind the receipt.
+	 */
+	@Query(value = "SELECT cm.conversation_id, cm.user_id FROM conversation_members cm " +
+	               "JOIN JSON_TABLE(:receipts, '$[*]' COLUMNS(" +
+	               "c BIGINT PATH '$.c', u BIGINT PATH '$.u', m BIGINT PATH '$.m')) r " +
+	               "ON cm.conversation_id = r.c AND cm.user_id = r.u " +
+	               "WHERE cm.last_read_message_id IS NULL OR cm.last_read_message_id < r.m", nativeQuery = true)
+	List<Object[]> findAdvancingReceipts(@Param("receipts") String receipts);
+
+	@Query("SELECT cm.id.conversationId, cm.id.userId, cm.unreadCount, cm.lastReadMessageId FROM ConversationMember cm " +
+	       "WHERE cm.id.conversationId IN :conversationIds")
+	List<Object[]> findUnreadStateByConversationIdIn(@Param("conversationIds") java.util.Collection<Long> conversationIds);
+
+	/**
+	 * Unread messages per member, counted the way the live counters are: after
+	 * the read pointer, or since joining for a member who never read.
+	 */
+	@Query(value = "SELECT cm.conversation_id, cm.user_id, COUNT(*) FROM conversation_members cm " +
+	               "JOIN messages m ON m.conversation_id = cm.conversation_id AND m.deleted_at IS NULL AND m.sender_id <> cm.user_id " +
+	               "AND (m.id > cm.last_read_message_id OR (cm.last_read_message_id IS NULL AND m.created_at >= cm.joined_at)) " +
+	               "WHERE cm.conversation_id IN :conversationIds GROUP BY cm.conversation_id, cm.user_id", nativeQuery = true)
+	List<Object[]> countUnreadByConversationIdIn(@Param("conversationIds") java.util.Collection<Long> conversationIds);
+
+	/**
+	 * Sets the counter only if neither it nor the read pointer changed since
+	 * they were read.
+	 */
+	@Modifying
+	@Query(value = "UPDATE conversation_members SET unread_count = :actual " +
+	               "WHERE conversation_id = :conversationId AND user_id = :userId AND unread_count = :expected " +
+	               "AND last_read_message_id <=> :lastReadMessageId", nativeQuery = true)
+	int compareAndSetUnreadCount(@Param("conversationId") Long conversationId, @Param("userId") Long userId,
+	                             @Param("expected") Integer expected, @Param("lastReadMessageId") Long lastReadMessageId,
+	                             @Param("actual") int actual);
+}
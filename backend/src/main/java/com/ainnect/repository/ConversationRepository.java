@@ -2,13 +2,17 @@ package com.ainnect.repository;
 
 import com.ainnect.entity.Conversation;
 import com.ainnect.common.enums.ConversationType;
+import com.ainnect.common.enums.MessageType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,13 +38,120 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
            "ORDER BY c.updatedAt DESC")
     List<Conversation> findByTypeAndUserId(@Param("type") ConversationType type, @Param("userId") Long userId);
 
-    @EntityGraph(attributePaths = {"createdBy"})
-    @Query("SELECT DISTINCT c FROM Conversation c WHERE c.type = 'direct' AND c.id IN " +
-           "(SELECT cm.conversation.id FROM ConversationMember cm WHERE cm.user.id = :userId1) " +
-           "AND c.id IN (SELECT cm.conversation.id FROM ConversationMember cm WHERE cm.user.id = :userId2) " +
-           "ORDER BY c.updatedAt DESC")
-    java.util.List<Conversation> findDirectConversationBetweenUsers(@Param("userId1") Long userId1, @Param("userId2") Long userId2, org.springframework.data.domain.Pageable pageable);
-
 	@EntityGraph(attributePaths = {"createdBy"})
 	Optional<Conversation> findById(Long id);
-}
\ No newline at end of file
+
+	@EntityGraph(attributePaths = {"createdBy"})
+	Optional<Conversation> findByDirectUserLowAndDirectUserHigh(Long directUserLow, Long directUserHigh);
+
+	boolean existsByTypeAndDirectUserLowIsNull(ConversationType type);
+
+	/**
+	 * Keys existing two-member direct conversations by their participant pair.
+	 * Where a pair already has several conversations, the most recently
+	 * updated one gets the key.
+	 */
+	@Modifying
+	@Query(value = "UPDATE IGNORE conversations c JOIN (" +
+	               "SELECT conversation_id, low, high, " +
+	               "ROW_NUMBER() OVER (PARTITION BY low, high ORDER BY updated_at DESC, conversation_id DESC) AS rn FROM (" +
+	               "SELECT cm.conversation_id, MIN(cm.user_id) AS low, MAX(cm.user_id) AS high, c2.updated_at " +
+	               "FROM conversation_members cm JOIN conversations c2 ON c2.id = cm.conversation_id " +
+	               "WHERE c2.type = 'direct' AND c2.direct_user_low IS NULL " +
+	               "GROUP BY cm.conversation_id, c2.updated_at HAVING COUNT(*) = 2) pairs) ranked " +
+	               "ON ranked.conversation_id = c.id " +
+	               "SET c.direct_user_low = ranked.low, c.direct_user_high = ranked.high " +
+	               "WHERE ranked.rn = 1", nativeQuery = true)
+	int backfillDirectPairs();
+
+    /**
+     * Keyset page of a user's conversations, most recently active first.
+     */
+    @EntityGraph(attributePaths = {"createdBy"})
+    @Query("SELECT c FROM Conversation c WHERE c.id IN " +
+           "(SELECT cm.conversation.id FROM ConversationMember cm WHERE cm.user.id = :userId) " +
+           "AND (c.updatedAt < :beforeAt OR (c.updatedAt = :beforeAt AND c.id < :beforeId)) " +
+           "ORDER BY c.updatedAt DESC, c.id DESC")
+    List<Conversation> findInboxPage(@Param("userId") Long userId, @Param("beforeAt") LocalDateTime beforeAt,
+                                     @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * Advances the last-message pointer. A message committing after a newer
+     * one leaves the pointer alone.
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastMessageSenderId = :senderId, " +
+           "c.lastMessagePreview = :preview, c.lastMessageType = :messageType, c.lastMessageAt = :sentAt, c.updatedAt = :sentAt " +
+           "WHERE c.id = :conversationId AND (c.lastMessageId IS NULL OR c.lastMessageId < :messageId)")
+    int updateLastMessage(@Param("conversationId") Long conversationId, @Param("messageId") Long messageId,
+                          @Param("senderId") Long senderId, @Param("preview") String preview,
+                          @Param("messageType") MessageType messageType, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Moves the last-message pointer off a deleted message, only while it
+     * still points at it, so a message sent meanwhile is never replaced.
+     * Touches no other column.
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastMessageSenderId = :senderId, " +
+           "c.lastMessagePreview = :preview, c.lastMessageType = :messageType, c.lastMessageAt = :sentAt " +
+           "WHERE c.id = :conversationId AND c.lastMessageId = :deletedId")
+    int replaceDeletedLastMessage(@Param("conversationId") Long conversationId, @Param("deletedId") Long deletedId,
+                                  @Param("messageId") Long messageId, @Param("senderId") Long senderId,
+                                  @Param("preview") String preview, @Param("messageType") MessageType messageType,
+                                  @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Reserves {@code count} sequence numbers. The row stays locked until
+     * commit, so concurrent writers to one conversation take turns.
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastSeq = c.lastSeq + :count WHERE c.id = :conversationId")
+    int allocateSequences(@Param("conversationId") Long conversationId, @Param("count") long count);
+
+    @Query("SELECT c.lastSeq FROM Conversation c WHERE c.id = :conversationId")
+    Long findLastSeq(@Param("conversationId") Long conversationId);
+
+    @Modifying
+    @Query(value = "UPDATE conversations c SET c.last_seq = " +
+                   "(SELECT COALESCE(MAX(m.seq), 0) FROM messages m WHERE m.conversation_id = c.id)", nativeQuery = true)
+    int recalculateLastSeqs();
+
+    @Query("SELECT c.id FROM Conversation c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.memberCount = c.memberCount + :delta WHERE c.id = :conversationId")
+    int adjustMemberCount(@Param("conversationId") Long conversationId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.memberCount = (SELECT COUNT(cm) FROM ConversationMember cm WHERE cm.conversation.id = c.id) " +
+           "WHERE c.id IN :conversationIds")
+    int recalculateMemberCounts(@Param("conversationIds") Collection<Long> conversationIds);
+
+    /**
+     * Points conversations without a last message at their newest live
+     * message. The correlated MAX uses the (conversation_id, id) index.
+     */
+    @Modifying
+    @Query(value = "UPDATE conversations c JOIN messages m ON m.conversation_id = c.id " +
+                   "SET c.last_message_id = m.id, c.last_message_sender_id = m.sender_id, " +
+                   "c.last_message_preview = LEFT(m.content, 255), c.last_message_type = m.message_type, " +
+                   "c.last_message_at = m.created_at " +
+                   "WHERE c.id IN (:conversationIds) AND c.last_message_id IS NULL " +
+                   "AND m.id = (SELECT MAX(m2.id) FROM messages m2 WHERE m2.conversation_id = c.id AND m2.deleted_at IS NULL)",
+           nativeQuery = true)
+    int backfillLastMessages(@Param("conversationIds") Collection<Long> conversationIds);
+
+    @Modifying
+    @Query(value = "UPDATE conversations c JOIN messages m ON m.id = c.last_message_id " +
+                   "SET c.last_message_type = m.message_type " +
+                   "WHERE c.id IN (:conversationIds) AND c.last_message_type IS NULL", nativeQuery = true)
+    int backfillLastMessageTypes(@Param("conversationIds") Collection<Long> conversationIds);
+
+    @Query("SELECT c.id FROM Conversation c WHERE c.id > :afterId AND c.id <= :upToId ORDER BY c.id")
+    List<Long> findIdsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Conversation c")
+    long findMaxId();
+}
@@ -22,4 +22,10 @@ public interface EducationRepository extends JpaRepository<Education, Long> {
     
     @Query("SELECT e FROM Education e WHERE e.schoolName = :schoolName AND e.deletedAt IS NULL AND e.imageUrl IS NOT NULL ORDER BY e.createdAt DESC")
     List<Education> findBySchoolNameWithImage(@Param("schoolName") String schoolName);
+
+    @Query("SELECT e.schoolName, COUNT(e) FROM Education e WHERE e.deletedAt IS NULL GROUP BY e.schoolName")
+    List<Object[]> countGroupedBySchoolName();
+
+    @Query("SELECT e.schoolName, e.imageUrl FROM Education e WHERE e.deletedAt IS NULL AND e.imageUrl IS NOT NULL ORDER BY e.createdAt DESC")
+    List<Object[]> findImageUrlsBySchoolName();
 }
@@ -4,6 +4,8 @@ import com.ainnect.common.enums.FriendshipStatus;
 import com.ainnect.entity.Friendship;
 import com.ainnect.entity.FriendshipId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -13,4 +15,8 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Friendsh
 	
 	List<Friendship> findByUserLow_IdOrUserHigh_IdAndStatus(Long userId1, Long userId2, FriendshipStatus status);
 	long countByUserLow_IdOrUserHigh_IdAndStatus(Long userId1, Long userId2, FriendshipStatus status);
+
+	@Query("SELECT CASE WHEN f.userLow.id = :userId THEN f.userHigh.id ELSE f.userLow.id END FROM Friendship f " +
+		   "WHERE (f.userLow.id = :userId OR f.userHigh.id = :userId) AND f.status = :status")
+	List<Long> findOtherUserIds(@Param("userId") Long userId, @Param("status") FriendshipStatus status);
 }
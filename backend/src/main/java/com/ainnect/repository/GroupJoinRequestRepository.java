@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,5 +30,8 @@ public interface GroupJoinRequestRepository extends JpaRepository<GroupJoinReque
 	Page<GroupJoinRequest> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") GroupJoinRequestStatus status, Pageable pageable);
 	
 	boolean existsByGroupIdAndUserIdAndStatus(Long groupId, Long userId, GroupJoinRequestStatus status);
+
+	@Query("SELECT jr.group.id FROM GroupJoinRequest jr WHERE jr.user.id = :userId AND jr.status = :status AND jr.group.id IN :groupIds")
+	List<Long> findGroupIdsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") GroupJoinRequestStatus status, @Param("groupIds") Collection<Long> groupIds);
 }
 
@@ -5,10 +5,13 @@ import com.ainnect.entity.GroupMember;
 import com.ainnect.entity.GroupMemberId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,14 +26,20 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, GroupM
 	Page<GroupMember> findByGroupId(@Param("groupId") Long groupId, Pageable pageable);
 	
 
+	@EntityGraph(attributePaths = {"group", "group.owner"})
 	@Query("SELECT gm FROM GroupMember gm WHERE gm.user.id = :userId ORDER BY gm.joinedAt DESC")
 	Page<GroupMember> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+	@Query("SELECT gm.group.id, gm.role FROM GroupMember gm WHERE gm.user.id = :userId AND gm.group.id IN :groupIds")
+	List<Object[]> findRolesByUserIdAndGroupIds(@Param("userId") Long userId, @Param("groupIds") Collection<Long> groupIds);
 	
 
 	Optional<GroupMember> findByGroupIdAndUserId(Long groupId, Long userId);
 	
 
-	void deleteByGroupIdAndUserId(Long groupId, Long userId);
+	@Modifying
+	@Query("DELETE FROM GroupMember gm WHERE gm.id.groupId = :groupId AND gm.id.userId = :userId")
+	int deleteByGroupIdAndUserId(@Param("groupId") Long groupId, @Param("userId") Long userId);
 	
 	Long countByUserId(Long userId);
 	
@@ -25,4 +25,10 @@ public interface InterestRepository extends JpaRepository<Interest, Long> {
     
     @Query("SELECT i FROM Interest i WHERE i.name = :name AND i.deletedAt IS NULL AND i.imageUrl IS NOT NULL ORDER BY i.createdAt DESC")
     List<Interest> findByNameWithImage(@Param("name") String name);
+
+    @Query("SELECT i.name, COUNT(i) FROM Interest i WHERE i.deletedAt IS NULL GROUP BY i.name")
+    List<Object[]> countGroupedByName();
+
+    @Query("SELECT i.name, i.imageUrl FROM Interest i WHERE i.deletedAt IS NULL AND i.imageUrl IS NOT NULL ORDER BY i.createdAt DESC")
+    List<Object[]> findImageUrlsByName();
 }
@@ -0,0 +1,24 @@
+package com.ainnect.repository;
+
+import com.ainnect.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_checkpoints (name, position, target) VALUES (:name, 0, :target)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("target") Long target);
+
+    /**
+     * Moves the checkpoint forward; it never moves back.
+     */
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.position = :position WHERE c.name = :name AND c.position < :position")
+    int advance(@Param("name") String name, @Param("position") Long position);
+}
@@ -0,0 +1,29 @@
+package com.ainnect.repository;
+
+import com.ainnect.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_leases (name, owner, expires_at) VALUES (:name, '', '1970-01-01 00:00:00')",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    /**
+     * Takes the lease when it has expired or already belongs to {@code owner}.
+     * Returns 1 when the caller holds the lease afterwards.
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :until " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
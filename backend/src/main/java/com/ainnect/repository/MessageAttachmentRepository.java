@@ -2,11 +2,16 @@ package com.ainnect.repository;
 
 import com.ainnect.entity.MessageAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MessageAttachmentRepository extends JpaRepository<MessageAttachment, Long> {
 	List<MessageAttachment> findByMessage_Id(Long messageId);
 	List<MessageAttachment> findByMessageId(Long messageId);
-}
 
+	@Query("SELECT a FROM MessageAttachment a WHERE a.message.id IN :messageIds ORDER BY a.id")
+	List<MessageAttachment> findByMessageIdIn(@Param("messageIds") Collection<Long> messageIds);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,11 @@ public interface MessageReactionRepository extends JpaRepository<MessageReaction
 
     @Query("SELECT COUNT(mr) FROM MessageReaction mr WHERE mr.message.id = :messageId AND mr.type = :type")
     long countByMessageIdAndType(@Param("messageId") Long messageId, @Param("type") ReactionType type);
-}
 
+    @Query("SELECT mr.message.id, mr.type, COUNT(mr) FROM MessageReaction mr WHERE mr.message.id IN :messageIds " +
+           "GROUP BY mr.message.id, mr.type")
+    List<Object[]> countByMessageIdsGroupedByType(@Param("messageIds") Collection<Long> messageIds);
 
+    @Query("SELECT mr.message.id, mr.type FROM MessageReaction mr WHERE mr.user.id = :userId AND mr.message.id IN :messageIds")
+    List<Object[]> findTypesByUserIdAndMessageIds(@Param("userId") Long userId, @Param("messageIds") Collection<Long> messageIds);
+}
@@ -4,10 +4,12 @@ import com.ainnect.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +38,37 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 	List<Message> findMessagesSince(@Param("conversationId") Long conversationId, @Param("since") LocalDateTime since);
 	
 	Optional<Message> findByIdAndDeletedAtIsNull(Long id);
+
+	Optional<Message> findFirstByConversation_IdAndDeletedAtIsNullOrderByIdDesc(Long conversationId);
+
+	@Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.id IN :ids AND m.deletedAt IS NULL")
+	List<Message> findActiveWithSenderByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.parent p LEFT JOIN FETCH p.sender " +
+	       "WHERE m.id IN :ids AND m.deletedAt IS NULL")
+	List<Message> findActiveWithSenderAndParentByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT m.id, m.conversation.id, m.content FROM Message m " +
+	       "WHERE m.id > :afterId AND m.id <= :upToId AND m.deletedAt IS NULL ORDER BY m.id ASC")
+	List<Object[]> findSearchIndexBatch(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+	@Query("SELECT COALESCE(MAX(m.id), 0) FROM Message m")
+	long findMaxId();
+
+	boolean existsBySeqIsNull();
+
+	@Modifying
+	@Query(value = "UPDATE messages m JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY conversation_id ORDER BY id) AS rn " +
+	               "FROM messages) numbered ON numbered.id = m.id SET m.seq = numbered.rn WHERE m.seq IS NULL", nativeQuery = true)
+	int backfillSeqs();
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.parent p LEFT JOIN FETCH p.sender " +
+           "WHERE m.conversation.id = :conversationId AND m.id < :beforeId AND m.deletedAt IS NULL ORDER BY m.id DESC")
+    List<Message> findPageBefore(@Param("conversationId") Long conversationId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender LEFT JOIN FETCH m.parent p LEFT JOIN FETCH p.sender " +
+           "WHERE m.conversation.id = :conversationId AND m.id > :afterId AND m.deletedAt IS NULL ORDER BY m.id ASC")
+    List<Message> findPageAfter(@Param("conversationId") Long conversationId, @Param("afterId") Long afterId, Pageable pageable);
 	
     @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.conversation.id = :conversationId AND m.deletedAt IS NULL " +
            "AND m.createdAt = (SELECT MAX(m2.createdAt) FROM Message m2 WHERE m2.conversation.id = :conversationId AND m2.deletedAt IS NULL) " +
@@ -0,0 +1,40 @@
+package com.ainnect.repository;
+
+import com.ainnect.entity.MessageSearchTerm;
+import com.ainnect.entity.MessageSearchTermId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MessageSearchTermRepository extends JpaRepository<MessageSearchTerm, MessageSearchTermId> {
+
+	@Modifying
+	@Query("DELETE FROM MessageSearchTerm t WHERE t.id.conversationId = :conversationId AND t.id.messageId = :messageId")
+	int deleteByMessage(@Param("conversationId") Long conversationId, @Param("messageId") Long messageId);
+
+	/**
+	 * Inserts a batch of postings in one statement, skipping postings that
+	 * already exist. {@code postings} is a JSON array of
+	 * {@code {"c": conversationId, "t": term, "m": messageId}} entries,
+	 * expanded with JSON_TABLE.
+	 */
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO message_search_terms (conversation_id, term, message_id) " +
+	               "SELECT p.c, p.t, p.m FROM JSON_TABLE(:postings, '$[*]' COLUMNS(" +
+	               "c BIGINT PATH '$.c', t VARCHAR(64) PATH '$.t', m BIGINT PATH '$.m')) p", nativeQuery = true)
+	int insertIgnoreBatch(@Param("postings") String postings);
+
+	@Query(value = "SELECT t.message_id FROM message_search_terms t " +
+	               "WHERE t.conversation_id = :conversationId AND t.term IN (:terms) AND t.message_id < :beforeId " +
+	               "GROUP BY t.message_id HAVING COUNT(*) = :termCount " +
+	               "ORDER BY t.message_id DESC LIMIT :limit", nativeQuery = true)
+	List<Long> findMessageIdsMatchingAll(@Param("conversationId") Long conversationId,
+	                                     @Param("terms") Collection<String> terms,
+	                                     @Param("termCount") long termCount,
+	                                     @Param("beforeId") Long beforeId,
+	                                     @Param("limit") int limit);
+}
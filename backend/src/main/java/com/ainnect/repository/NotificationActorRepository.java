@@ -0,0 +1,21 @@
+package com.ainnect.repository;
+
+import com.ainnect.entity.NotificationActor;
+import com.ainnect.entity.NotificationActorId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationActorRepository extends JpaRepository<NotificationActor, NotificationActorId> {
+
+    /**
+     * Returns 1 when the actor was not yet counted into the notification.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO notification_actors (notification_id, actor_id) VALUES (:notificationId, :actorId)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("notificationId") Long notificationId, @Param("actorId") Long actorId);
+}
@@ -2,15 +2,20 @@ package com.ainnect.repository;
 
 import com.ainnect.entity.Notification;
 import com.ainnect.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +34,49 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient = :recipient AND n.isRead = false")
     Long countUnreadByRecipient(@Param("recipient") User recipient);
     
+    @Query("SELECT n FROM Notification n " +
+           "LEFT JOIN FETCH n.recipient r " +
+           "LEFT JOIN FETCH n.actor a " +
+           "WHERE n.recipient.id = :recipientId " +
+           "AND (:beforeId IS NULL OR n.id < :beforeId) " +
+           "ORDER BY n.id DESC")
+    List<Notification> findInboxPage(@Param("recipientId") Long recipientId, @Param("beforeId") Long beforeId, Pageable pageable);
+    
+    @Query("SELECT n FROM Notification n " +
+           "LEFT JOIN FETCH n.recipient r " +
+           "LEFT JOIN FETCH n.actor a " +
+           "WHERE n.recipient.id = :recipientId " +
+           "AND (n.updatedAt > :since OR (n.updatedAt = :since AND n.id > :afterId)) " +
+           "ORDER BY n.updatedAt ASC, n.id ASC")
+    List<Notification> findChangedSince(@Param("recipientId") Long recipientId, @Param("since") LocalDateTime since,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT n.id, n.recipient.id, n.actor.id, n.type, n.targetType, n.targetId FROM Notification n " +
+           "WHERE n.isRead = false AND n.actor IS NOT NULL AND n.targetType IS NOT NULL AND n.targetId IS NOT NULL " +
+           "AND n.createdAt >= :since AND n.id > :afterId ORDER BY n.id")
+    List<Object[]> findUnreadDedupKeysSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n " +
+           "WHERE n.recipient.id IN :recipientIds AND n.isRead = false GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIdIn(@Param("recipientIds") Collection<Long> recipientIds);
+    
+    /**
+     * Claims a chunk of expired notifications. Rows another node is already
+     * purging are skipped, so each row's unread state is counted once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notification n WHERE n.createdAt < :cutoff ORDER BY n.id")
+    List<Notification> lockExpiredBatch(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.updatedAt = n.createdAt WHERE n.updatedAt IS NULL")
+    int backfillUpdatedAt();
+    
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient = :recipient")
     Long countByRecipient(@Param("recipient") User recipient);
     
@@ -36,13 +84,17 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Long countTodayByRecipient(@Param("recipient") User recipient);
     
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.recipient = :recipient AND n.isRead = false")
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt, n.updatedAt = :readAt WHERE n.recipient = :recipient AND n.isRead = false")
     int markAllAsReadByRecipient(@Param("recipient") User recipient, @Param("readAt") LocalDateTime readAt);
     
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id = :id AND n.recipient = :recipient")
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt, n.updatedAt = :readAt WHERE n.id = :id AND n.recipient = :recipient")
     int markAsReadByIdAndRecipient(@Param("id") Long id, @Param("recipient") User recipient, @Param("readAt") LocalDateTime readAt);
     
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt, n.updatedAt = :readAt WHERE n.id = :id AND n.recipient = :recipient AND n.isRead = false")
+    int markUnreadAsReadByIdAndRecipient(@Param("id") Long id, @Param("recipient") User recipient, @Param("readAt") LocalDateTime readAt);
+    
     @Query("SELECT n FROM Notification n " +
            "WHERE n.recipient = :recipient " +
            "AND n.actor = :actor " +
@@ -58,6 +110,14 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         @Param("targetId") Long targetId
     );
     
+    /**
+     * Newest unread aggregate for the key, locked so concurrent dispatchers
+     * update it one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Notification> findFirstByRecipient_IdAndTypeAndTargetTypeAndTargetIdAndIsReadFalseOrderByIdDesc(
+        Long recipientId, NotificationType type, String targetType, Long targetId);
+    
     @Query("SELECT n FROM Notification n " +
            "WHERE n.recipient = :recipient " +
            "AND n.type = :type " +
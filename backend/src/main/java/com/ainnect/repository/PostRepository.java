@@ -44,8 +44,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 	   "      OR (fr.userHigh.id = :currentUserId AND fr.userLow.id = p.author.id))" +
 	   ")) OR " +
 	   "(p.visibility = 'private_' AND p.author.id = :currentUserId) OR " +
-	   "(p.visibility = 'group' AND p.group.id IN (" +
-	   "  SELECT gm.group.id FROM GroupMember gm WHERE gm.user.id = :currentUserId))) " +
+	   "(p.visibility = 'group' AND EXISTS (" +
+	   "  SELECT 1 FROM GroupMember gm WHERE gm.group.id = p.group.id AND gm.user.id = :currentUserId))) " +
 	   "ORDER BY p.createdAt DESC")
 	Page<Post> findVisiblePostsForUser(@Param("currentUserId") Long currentUserId, Pageable pageable);
 	
@@ -80,8 +80,8 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 	   "      OR (fr.userHigh.id = :currentUserId AND fr.userLow.id = p.author.id))" +
 	   ")) OR " +
 	   "(p.visibility = 'private_' AND p.author.id = :currentUserId) OR " +
-	   "(p.visibility = 'group' AND p.group.id IN (" +
-	   "  SELECT gm.group.id FROM GroupMember gm WHERE gm.user.id = :currentUserId))) " +
+	   "(p.visibility = 'group' AND EXISTS (" +
+	   "  SELECT 1 FROM GroupMember gm WHERE gm.group.id = p.group.id AND gm.user.id = :currentUserId))) " +
 	   "ORDER BY p.createdAt DESC")
 	Page<Post> searchPosts(@Param("keyword") String keyword, @Param("currentUserId") Long currentUserId, Pageable pageable);
 	
@@ -22,4 +22,10 @@ public interface UserLocationRepository extends JpaRepository<UserLocation, Long
     
     @Query("SELECT l FROM UserLocation l WHERE l.locationName = :locationName AND l.deletedAt IS NULL AND l.imageUrl IS NOT NULL ORDER BY l.createdAt DESC")
     List<UserLocation> findByLocationNameWithImage(@Param("locationName") String locationName);
+
+    @Query("SELECT l.locationName, COUNT(l) FROM UserLocation l WHERE l.deletedAt IS NULL GROUP BY l.locationName")
+    List<Object[]> countGroupedByLocationName();
+
+    @Query("SELECT l.locationName, l.imageUrl FROM UserLocation l WHERE l.deletedAt IS NULL AND l.imageUrl IS NOT NULL ORDER BY l.createdAt DESC")
+    List<Object[]> findImageUrlsByLocationName();
 }
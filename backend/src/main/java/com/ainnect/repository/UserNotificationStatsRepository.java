@@ -0,0 +1,57 @@
+package com.ainnect.repository;
+
+import com.ainnect.entity.UserNotificationStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserNotificationStatsRepository extends JpaRepository<UserNotificationStats, Long> {
+
+    @Query("SELECT s.unreadCount FROM UserNotificationStats s WHERE s.userId = :userId")
+    Optional<Integer> findUnreadCount(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_stats (user_id, unread_count) VALUES (:userId, GREATEST(:delta, 0)) " +
+                   "ON DUPLICATE KEY UPDATE unread_count = GREATEST(unread_count + :delta, 0)", nativeQuery = true)
+    int adjustUnreadCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_stats (user_id, unread_count) " +
+                   "SELECT :userId, COUNT(*) FROM notifications n WHERE n.recipient_id = :userId AND n.is_read = false " +
+                   "ON DUPLICATE KEY UPDATE unread_count = VALUES(unread_count)", nativeQuery = true)
+    int recalculateUnreadCount(@Param("userId") Long userId);
+
+    /**
+     * Creates the counter row if needed and takes its row lock, which
+     * serializes aggregate notification updates for the recipient.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_stats (user_id, unread_count) VALUES (:userId, 0) " +
+                   "ON DUPLICATE KEY UPDATE unread_count = unread_count", nativeQuery = true)
+    int lockUnreadCounter(@Param("userId") Long userId);
+
+    @Query("SELECT s.userId, s.unreadCount FROM UserNotificationStats s WHERE s.userId IN :userIds")
+    List<Object[]> findUnreadCountsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Sets the counter only if it still holds {@code expected}, so an
+     * increment committed since it was read is never overwritten.
+     */
+    @Modifying
+    @Query("UPDATE UserNotificationStats s SET s.unreadCount = :actual " +
+           "WHERE s.userId = :userId AND s.unreadCount = :expected")
+    int compareAndSetUnreadCount(@Param("userId") Long userId, @Param("expected") Integer expected,
+                                 @Param("actual") Integer actual);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_notification_stats (user_id, unread_count) VALUES (:userId, :unreadCount)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("unreadCount") int unreadCount);
+}
@@ -5,10 +5,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -29,6 +32,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
 		   "LOWER(u.bio) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
 		   "u.deletedAt IS NULL")
 	Page<User> searchUsers(@Param("keyword") String keyword, Pageable pageable);
+
+	@Query("SELECT u.id FROM User u WHERE " +
+		   "(LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+		   "LOWER(u.displayName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+		   "LOWER(u.bio) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+		   "u.deletedAt IS NULL " +
+		   "ORDER BY u.id")
+	Page<Long> searchUserIds(@Param("keyword") String keyword, Pageable pageable);
+
+	@Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+	List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query("SELECT u.id FROM User u WHERE u.id > :afterId AND u.id <= :upToId ORDER BY u.id")
+	List<Long> findIdsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+	@Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+	long findMaxId();
 	
 	@EntityGraph(attributePaths = {"userRoles", "userRoles.role"})
 	Page<User> findAllByOrderByCreatedAtDesc(Pageable pageable);
@@ -50,4 +70,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 		   "GROUP BY DATE(u.createdAt) " +
 		   "ORDER BY DATE(u.createdAt)")
 	java.util.List<Object[]> getUserGrowthStats(@Param("since") LocalDateTime since);
+
+	@Modifying
+	@Query("UPDATE User u SET u.lastSeenAt = :seenAt WHERE u.id = :userId " +
+		   "AND (u.lastSeenAt IS NULL OR u.lastSeenAt < :seenAt)")
+	int updateLastSeenAt(@Param("userId") Long userId, @Param("seenAt") LocalDateTime seenAt);
+
+	@Query("SELECT u.id, u.lastSeenAt FROM User u WHERE u.id IN :ids")
+	java.util.List<Object[]> findLastSeenAtByIdIn(@Param("ids") Collection<Long> ids);
 }
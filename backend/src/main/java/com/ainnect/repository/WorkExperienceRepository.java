@@ -22,4 +22,10 @@ public interface WorkExperienceRepository extends JpaRepository<WorkExperience,
     
     @Query("SELECT w FROM WorkExperience w WHERE w.companyName = :companyName AND w.deletedAt IS NULL AND w.imageUrl IS NOT NULL ORDER BY w.createdAt DESC")
     List<WorkExperience> findByCompanyNameWithImage(@Param("companyName") String companyName);
+
+    @Query("SELECT w.companyName, COUNT(w) FROM WorkExperience w WHERE w.deletedAt IS NULL GROUP BY w.companyName")
+    List<Object[]> countGroupedByCompanyName();
+
+    @Query("SELECT w.companyName, w.imageUrl FROM WorkExperience w WHERE w.deletedAt IS NULL AND w.imageUrl IS NOT NULL ORDER BY w.createdAt DESC")
+    List<Object[]> findImageUrlsByCompanyName();
 }
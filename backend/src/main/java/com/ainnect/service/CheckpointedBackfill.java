@@ -0,0 +1,136 @@
+package com.ainnect.service;
+
+import com.ainnect.entity.JobCheckpoint;
+import com.ainnect.repository.JobCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs one-time data backfills after the application is ready, off the
+ * startup path. A backfill walks ids up to a target recorded on its first
+ * run; rows created later are expected to be maintained as they are
+ * written. Each step runs in its own short READ COMMITTED transaction that
+ * also advances the backfill's row in {@code job_checkpoints}, so a restart
+ * resumes where the last run stopped and a finished backfill never runs
+ * again. One node works on a backfill at a time under {@link ClusterJobLock};
+ * a node that finds the lease taken, or whose step fails, tries again later
+ * rather than giving up until the next restart. Backfills run one after
+ * another on a single thread.
+ */
+@Slf4j
+@Service
+public class CheckpointedBackfill {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    private static final long RETRY_DELAY_MILLIS = 60_000;
+
+    /**
+     * One chunk of a backfill over ids in ({@code afterId}, {@code upToId}].
+     * Returns the id the next chunk starts after; {@code upToId} once the
+     * range is exhausted.
+     */
+    @FunctionalInterface
+    public interface Step {
+        long run(long afterId, long upToId);
+    }
+
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final ClusterJobLock clusterJobLock;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Runnable> registered = new ArrayList<>();
+    private final ScheduledExecutorService runner = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean ready;
+
+    public CheckpointedBackfill(JobCheckpointRepository jobCheckpointRepository,
+                                ClusterJobLock clusterJobLock,
+                                PlatformTransactionManager transactionManager) {
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.clusterJobLock = clusterJobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * Registers a backfill named {@code job}. {@code target} is only asked
+     * on the first run. Backfills registered before the application is ready
+     * start once it is.
+     */
+    public synchronized void register(String job, LongSupplier target, Step step) {
+        Runnable backfill = () -> run(job, target, step);
+        if (ready) {
+            runner.execute(backfill);
+        } else {
+            registered.add(backfill);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        ready = true;
+        registered.forEach(runner::execute);
+        registered.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private void run(String job, LongSupplier target, Step step) {
+        try {
+            JobCheckpoint checkpoint = transactionTemplate.execute(status -> {
+                if (!jobCheckpointRepository.existsById(job)) {
+                    jobCheckpointRepository.insertIfAbsent(job, target.getAsLong());
+                }
+                return jobCheckpointRepository.findById(job).orElseThrow();
+            });
+            long position = checkpoint.getPosition();
+            long upToId = checkpoint.getTarget();
+            if (position >= upToId) {
+                return;
+            }
+            while (position < upToId) {
+                if (!clusterJobLock.tryAcquire(job, LEASE)) {
+                    retryLater(job, target, step, LEASE.toMillis());
+                    return;
+                }
+                long from = position;
+                Long next = transactionTemplate.execute(status -> {
+                    long reached = step.run(from, upToId);
+                    jobCheckpointRepository.advance(job, reached);
+                    return reached;
+                });
+                position = next != null ? next : upToId;
+            }
+            log.info("Backfill {} finished up to id {}", job, upToId);
+        } catch (Exception e) {
+            log.warn("Backfill {} failed, retrying in {} ms: {}", job, RETRY_DELAY_MILLIS, e.getMessage());
+            retryLater(job, target, step, RETRY_DELAY_MILLIS);
+        }
+    }
+
+    private void retryLater(String job, LongSupplier target, Step step, long delayMillis) {
+        if (!runner.isShutdown()) {
+            runner.schedule(() -> run(job, target, step), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ainnect.service;
+
+import com.ainnect.repository.JobLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps cluster-wide maintenance jobs to one node at a time through a lease
+ * row per job in {@code job_leases}. A node takes the lease when it has
+ * expired and extends it while it holds it, so a job can renew between
+ * chunks and a crashed holder is replaced once its lease runs out. Leases are
+ * never released early: holding one until expiry also keeps the other nodes
+ * from repeating a periodic job within the same period.
+ */
+@Slf4j
+@Service
+public class ClusterJobLock {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ClusterJobLock(JobLeaseRepository jobLeaseRepository, PlatformTransactionManager transactionManager) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes or extends the lease on {@code job} for {@code hold}. Returns
+     * false while another node holds it.
+     */
+    public boolean tryAcquire(String job, Duration hold) {
+        try {
+            Integer acquired = transactionTemplate.execute(status -> {
+                jobLeaseRepository.insertIfAbsent(job);
+                LocalDateTime now = LocalDateTime.now();
+                return jobLeaseRepository.acquire(job, owner, now, now.plus(hold));
+            });
+            return acquired != null && acquired > 0;
+        } catch (Exception e) {
+            log.warn("Failed to acquire lease for job {}: {}", job, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ainnect.service;
+
+import com.ainnect.repository.ConversationMemberRepository;
+import com.ainnect.repository.ConversationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repairs drift in {@code conversation_members.unread_count} once the
+ * application is ready, off the startup path. Conversations are walked in id
+ * order in chunks, each in its own short transaction: stored counters and
+ * read pointers are read first, then the unread counts with a plain,
+ * non-locking read, and a counter is corrected only if neither it nor the
+ * pointer changed in between. One node runs it per startup wave, guarded by
+ * {@link ClusterJobLock}.
+ */
+@Slf4j
+@Service
+public class ConversationUnreadReconcileJob {
+
+    private static final String JOB = "conversation-unread-reconcile";
+    private static final Duration LEASE = Duration.ofHours(1);
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final ClusterJobLock clusterJobLock;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ConversationUnreadReconcileJob(ConversationRepository conversationRepository,
+                                          ConversationMemberRepository conversationMemberRepository,
+                                          ClusterJobLock clusterJobLock,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.messaging.unread-reconcile.chunk-size:200}") int chunkSize) {
+        this.conversationRepository = conversationRepository;
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.clusterJobLock = clusterJobLock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.chunkSize = chunkSize;
+    }
+
+    @Async("maintenanceExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        if (!clusterJobLock.tryAcquire(JOB, LEASE)) {
+            return;
+        }
+        try {
+            long afterId = 0L;
+            long corrected = 0;
+            List<Long> conversationIds;
+            do {
+                conversationIds = conversationRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (conversationIds.isEmpty()) {
+                    break;
+                }
+                List<Long> chunk = conversationIds;
+                Integer fixed = transactionTemplate.execute(status -> reconcileChunk(chunk));
+                corrected += fixed != null ? fixed : 0;
+                afterId = conversationIds.get(conversationIds.size() - 1);
+            } while (conversationIds.size() == chunkSize);
+            log.info("Reconciled conversation unread counters, {} corrected", corrected);
+        } catch (Exception e) {
+            log.error("Failed to reconcile conversation unread counters: {}", e.getMessage());
+        }
+    }
+
+    private int reconcileChunk(List<Long> conversationIds) {
+        List<Object[]> stored = conversationMemberRepository.findUnreadStateByConversationIdIn(conversationIds);
+        Map<Member, Integer> actual = new HashMap<>();
+        for (Object[] row : conversationMemberRepository.countUnreadByConversationIdIn(conversationIds)) {
+            actual.put(new Member(((Number) row[0]).longValue(), ((Number) row[1]).longValue()), ((Number) row[2]).intValue());
+        }
+        int corrected = 0;
+        for (Object[] row : stored) {
+            Member member = new Member((Long) row[0], (Long) row[1]);
+            Integer current = (Integer) row[2];
+            int count = actual.getOrDefault(member, 0);
+            if (current == null || current != count) {
+                corrected += conversationMemberRepository.compareAndSetUnreadCount(member.conversationId(),
+                        member.userId(), current, (Long) row[3], count);
+            }
+        }
+        return corrected;
+    }
+
+    private record Member(long conversationId, long userId) {}
+}
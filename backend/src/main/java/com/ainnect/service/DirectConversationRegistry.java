@@ -0,0 +1,69 @@
+package com.ainnect.service;
+
+import com.ainnect.entity.Conversation;
+import com.ainnect.repository.ConversationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the direct conversation between two users through the unique
+ * (direct_user_low, direct_user_high) key, a single index lookup. Creation
+ * runs in its own transaction and relies on the unique key: a creator that
+ * loses the race gets the winner's conversation instead.
+ * Callers must read with READ COMMITTED isolation to see a conversation
+ * committed by that separate transaction or by a concurrent creator.
+ */
+@Slf4j
+@Service
+public class DirectConversationRegistry {
+
+    private final ConversationRepository conversationRepository;
+    private final TransactionTemplate newTransaction;
+
+    public DirectConversationRegistry(ConversationRepository conversationRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.conversationRepository = conversationRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static Long low(Long userA, Long userB) {
+        return Math.min(userA, userB);
+    }
+
+    public static Long high(Long userA, Long userB) {
+        return Math.max(userA, userB);
+    }
+
+    public Optional<Conversation> find(Long userA, Long userB) {
+        return conversationRepository.findByDirectUserLowAndDirectUserHigh(low(userA, userB), high(userA, userB));
+    }
+
+    /**
+     * Returns the pair's conversation, running {@code creator} in a new
+     * transaction when there is none yet. {@code creator} must persist a
+     * conversation carrying the pair key together with its members.
+     */
+    public Conversation getOrCreate(Long userA, Long userB, Supplier<Conversation> creator) {
+        Optional<Conversation> existing = find(userA, userB);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            Long createdId = newTransaction.execute(status -> creator.get().getId());
+            return conversationRepository.findById(createdId)
+                    .orElseThrow(() -> new IllegalStateException("Conversation not found after creation"));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Direct conversation between {} and {} created concurrently, using existing one", userA, userB);
+            return find(userA, userB)
+                    .orElseThrow(() -> new IllegalStateException("Failed to create direct conversation", e));
+        }
+    }
+}
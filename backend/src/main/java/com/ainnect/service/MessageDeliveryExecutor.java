@@ -0,0 +1,48 @@
+package com.ainnect.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the follow-up work of sent messages (response mapping, unread
+ * badges, broadcasts) off the message-writer threads, so a slow broadcast
+ * never delays the next batch commit. Work is spread over single-thread
+ * lanes picked by conversation id; a conversation's messages are written
+ * in order, so their follow-ups also run, and broadcast, in that order.
+ */
+@Slf4j
+@Service
+public class MessageDeliveryExecutor {
+
+    private final ExecutorService[] lanes;
+
+    public MessageDeliveryExecutor(@Value("${app.messaging.delivery.threads:4}") int threads) {
+        this.lanes = new ExecutorService[Math.max(1, threads)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "message-delivery-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("Message delivery spread over {} lanes", lanes.length);
+    }
+
+    public Executor forConversation(Long conversationId) {
+        return lanes[Math.floorMod(Long.hashCode(conversationId), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.ainnect.service;
+
+import com.ainnect.common.enums.ReactionType;
+import com.ainnect.dto.messaging.MessagingDtos;
+import com.ainnect.entity.Message;
+import com.ainnect.entity.MessageAttachment;
+import com.ainnect.repository.ConversationMemberRepository;
+import com.ainnect.repository.MessageAttachmentRepository;
+import com.ainnect.repository.MessageReactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a page of messages into responses for one viewer. Attachments,
+ * grouped reaction counts, the viewer's own reactions and the viewer's read
+ * pointer are each loaded once for the whole page instead of per message.
+ * Messages are expected to arrive with sender and parent already fetched.
+ */
+@Service
+@RequiredArgsConstructor
+public class MessagePageAssembler {
+
+    private static final int PARENT_PREVIEW_LENGTH = 120;
+
+    private final MessageAttachmentRepository messageAttachmentRepository;
+    private final MessageReactionRepository messageReactionRepository;
+    private final ConversationMemberRepository conversationMemberRepository;
+
+    public MessagingDtos.MessageResponse assemble(Message message, Long viewerId, boolean withReactions) {
+        return assemble(List.of(message), viewerId, withReactions).get(0);
+    }
+
+    public List<MessagingDtos.MessageResponse> assemble(List<Message> messages, Long viewerId, boolean withReactions) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = messages.stream().map(Message::getId).toList();
+
+        Map<Long, List<MessagingDtos.MessageAttachmentResponse>> attachments = messageAttachmentRepository.findByMessageIdIn(ids).stream()
+                .collect(Collectors.groupingBy(a -> a.getMessage().getId(),
+                        Collectors.mapping(MessagePageAssembler::toAttachmentResponse, Collectors.toList())));
+
+        Map<Long, Long> lastReadByConversation = new HashMap<>();
+        for (Message message : messages) {
+            lastReadByConversation.computeIfAbsent(message.getConversation().getId(), conversationId ->
+                    conversationMemberRepository.findLastReadMessageId(conversationId, viewerId).orElse(0L));
+        }
+
+        Map<Long, Map<String, Long>> counts = withReactions ? reactionCounts(ids) : Map.of();
+        Map<Long, String> viewerReactions = new HashMap<>();
+        if (withReactions) {
+            for (Object[] row : messageReactionRepository.findTypesByUserIdAndMessageIds(viewerId, ids)) {
+                viewerReactions.put((Long) row[0], ((ReactionType) row[1]).name());
+            }
+        }
+
+        return messages.stream().map(message -> {
+            MessagingDtos.MessageResponse response = toResponse(message,
+                    attachments.getOrDefault(message.getId(), List.of()),
+                    lastReadByConversation.get(message.getConversation().getId()) >= message.getId());
+            if (withReactions) {
+                response.setReactionCounts(counts.getOrDefault(message.getId(), emptyCounts()));
+                response.setCurrentUserReaction(viewerReactions.get(message.getId()));
+            }
+            return response;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Counts per reaction type for one message, every type present.
+     */
+    public Map<String, Long> reactionCounts(Long messageId) {
+        return reactionCounts(List.of(messageId)).getOrDefault(messageId, emptyCounts());
+    }
+
+    private Map<Long, Map<String, Long>> reactionCounts(Collection<Long> messageIds) {
+        Map<Long, Map<String, Long>> counts = new HashMap<>();
+        for (Object[] row : messageReactionRepository.countByMessageIdsGroupedByType(messageIds)) {
+            counts.computeIfAbsent((Long) row[0], id -> emptyCounts())
+                    .put(((ReactionType) row[1]).name(), (Long) row[2]);
+        }
+        return counts;
+    }
+
+    private static Map<String, Long> emptyCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (ReactionType type : ReactionType.values()) {
+            counts.put(type.name(), 0L);
+        }
+        return counts;
+    }
+
+    private static MessagingDtos.MessageResponse toResponse(Message message,
+                                                            List<MessagingDtos.MessageAttachmentResponse> attachments,
+                                                            boolean isRead) {
+        MessagingDtos.MessageResponse response = MessagingDtos.MessageResponse.builder()
+                .id(message.getId())
+                .conversationId(message.getConversation().getId())
+                .seq(message.getSeq())
+                .senderId(message.getSender().getId())
+                .senderUsername(message.getSender().getUsername())
+                .senderDisplayName(message.getSender().getDisplayName())
+                .senderAvatarUrl(message.getSender().getAvatarUrl())
+                .content(message.getContent())
+                .messageType(message.getMessageType())
+                .attachments(attachments)
+                .createdAt(message.getCreatedAt())
+                .deletedAt(message.getDeletedAt())
+                .isRead(isRead)
+                .isEdited(false)
+                .editedAt(null)
+                .build();
+
+        if (message.getParent() != null) {
+            Message parent = message.getParent();
+            String content = parent.getContent();
+            response.setReplyTo(MessagingDtos.ParentMessageInfo.builder()
+                    .id(parent.getId())
+                    .senderId(parent.getSender().getId())
+                    .senderUsername(parent.getSender().getUsername())
+                    .contentPreview(content != null && content.length() > PARENT_PREVIEW_LENGTH
+                            ? content.substring(0, PARENT_PREVIEW_LENGTH) : content)
+                    .messageType(parent.getMessageType())
+                    .createdAt(parent.getCreatedAt())
+                    .build());
+        }
+        return response;
+    }
+
+    private static MessagingDtos.MessageAttachmentResponse toAttachmentResponse(MessageAttachment attachment) {
+        return MessagingDtos.MessageAttachmentResponse.builder()
+                .id(attachment.getId())
+                .fileName(attachment.getFileName())
+                .fileUrl(attachment.getFileUrl())
+                .fileType(attachment.getFileType())
+                .fileSize(attachment.getFileSize())
+                .createdAt(attachment.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.ainnect.service;
+
+import com.ainnect.repository.MessageRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Indexes messages written before the search index existed, once the
+ * application is ready, through {@link CheckpointedBackfill}. The first run
+ * records the highest message id as the target; later messages are indexed
+ * as they are written. Postings are inserted with INSERT IGNORE, so a
+ * message reindexed live while its batch runs does not fail the batch.
+ */
+@Service
+public class MessageSearchBackfillJob {
+
+    private static final String JOB = "message-search-backfill";
+
+    public MessageSearchBackfillJob(MessageSearchIndex messageSearchIndex,
+                                    MessageRepository messageRepository,
+                                    CheckpointedBackfill checkpointedBackfill) {
+        checkpointedBackfill.register(JOB, messageRepository::findMaxId, messageSearchIndex::backfillBatch);
+    }
+}
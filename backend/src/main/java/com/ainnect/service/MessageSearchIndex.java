@@ -0,0 +1,188 @@
+package com.ainnect.service;
+
+import com.ainnect.entity.Message;
+import com.ainnect.repository.MessageRepository;
+import com.ainnect.repository.MessageSearchTermRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inverted index of message content, partitioned by conversation and stored
+ * in {@code message_search_terms}. Content is split into words, lowercased
+ * and stripped of diacritics so "Xin chào" matches "xin chao". Index writes
+ * join the caller's transaction, so a message and its postings commit
+ * together; the postings of a whole batch of messages are written with one
+ * INSERT IGNORE, so a posting that already exists is not an error. A query matches messages containing every query word and is
+ * paged newest first by message id.
+ */
+@Service
+public class MessageSearchIndex {
+
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_TERMS_PER_MESSAGE = 256;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final MessageSearchTermRepository messageSearchTermRepository;
+    private final MessageRepository messageRepository;
+
+    public MessageSearchIndex(MessageSearchTermRepository messageSearchTermRepository,
+                              MessageRepository messageRepository) {
+        this.messageSearchTermRepository = messageSearchTermRepository;
+        this.messageRepository = messageRepository;
+    }
+
+    public void index(Collection<Message> messages) {
+        StringBuilder postings = new StringBuilder("[");
+        for (Message message : messages) {
+            addPostings(postings, message.getConversation().getId(), message.getId(), message.getContent());
+        }
+        insert(postings);
+    }
+
+    public void reindex(Message message) {
+        remove(message.getConversation().getId(), message.getId());
+        index(List.of(message));
+    }
+
+    public void remove(Long conversationId, Long messageId) {
+        messageSearchTermRepository.deleteByMessage(conversationId, messageId);
+    }
+
+    /**
+     * Ids of messages below {@code beforeId} containing every term, newest
+     * first. Returns nothing when the query has no indexable words.
+     */
+    public List<Long> search(Long conversationId, Set<String> terms, Long beforeId, int limit) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return messageSearchTermRepository.findMessageIdsMatchingAll(conversationId, terms, terms.size(),
+                beforeId != null ? beforeId : Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * Distinct normalized words of a search query, at most {@value #MAX_QUERY_TERMS}.
+     */
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (Token token : tokenize(query)) {
+            if (terms.size() == MAX_QUERY_TERMS) {
+                break;
+            }
+            terms.add(token.term());
+        }
+        return terms;
+    }
+
+    /**
+     * Character ranges of {@code content} whose words match one of the terms.
+     */
+    public static List<int[]> highlights(String content, Set<String> terms) {
+        List<int[]> ranges = new ArrayList<>();
+        for (Token token : tokenize(content)) {
+            if (terms.contains(token.term())) {
+                ranges.add(new int[] {token.start(), token.end()});
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Indexes the next batch of live messages with ids in ({@code afterId},
+     * {@code upToId}], in the caller's transaction. Postings a message
+     * already has, from being indexed live meanwhile, are left as they are.
+     * The returned id is where the next batch starts; it is {@code upToId}
+     * once the range is exhausted.
+     */
+    public long backfillBatch(long afterId, long upToId) {
+        List<Object[]> rows = messageRepository.findSearchIndexBatch(afterId, upToId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        StringBuilder postings = new StringBuilder("[");
+        for (Object[] row : rows) {
+            addPostings(postings, (Long) row[1], (Long) row[0], (String) row[2]);
+        }
+        insert(postings);
+        return rows.size() < BACKFILL_BATCH_SIZE ? upToId : (Long) rows.get(rows.size() - 1)[0];
+    }
+
+    private void insert(StringBuilder postings) {
+        if (postings.length() > 1) {
+            messageSearchTermRepository.insertIgnoreBatch(postings.append(']').toString());
+        }
+    }
+
+    /**
+     * Appends the message's postings to a JSON array in the format of
+     * {@link MessageSearchTermRepository#insertIgnoreBatch}. Terms are made of
+     * letters and digits only, so they never need escaping.
+     */
+    private static void addPostings(StringBuilder postings, Long conversationId, Long messageId, String content) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (Token token : tokenize(content)) {
+            if (terms.size() == MAX_TERMS_PER_MESSAGE) {
+                break;
+            }
+            terms.add(token.term());
+        }
+        for (String term : terms) {
+            if (postings.length() > 1) {
+                postings.append(',');
+            }
+            postings.append("{\"c\":").append(conversationId)
+                    .append(",\"t\":\"").append(term)
+                    .append("\",\"m\":").append(messageId).append('}');
+        }
+    }
+
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            while (i < length) {
+                cp = text.codePointAt(i);
+                if (!Character.isLetterOrDigit(cp) && Character.getType(cp) != Character.NON_SPACING_MARK) {
+                    break;
+                }
+                i += Character.charCount(cp);
+            }
+            String term = normalize(text.substring(start, i));
+            if (!term.isEmpty() && term.length() <= MAX_TERM_LENGTH) {
+                tokens.add(new Token(term, start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String word) {
+        String decomposed = Normalizer.normalize(word, Normalizer.Form.NFD);
+        StringBuilder term = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            term.append(c == 'đ' ? 'd' : c);
+        }
+        return term.toString();
+    }
+
+    private record Token(String term, int start, int end) {}
+}
@@ -4,17 +4,23 @@ import com.ainnect.common.enums.ConversationMemberRole;
 import com.ainnect.dto.messaging.MessagingDtos;
 import org.springframework.data.domain.Pageable;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MessageService {
 
     MessagingDtos.ConversationResponse createConversation(MessagingDtos.CreateConversationRequest request, Long creatorId);
     MessagingDtos.ConversationResponse getConversationById(Long conversationId, Long userId);
     MessagingDtos.ConversationListResponse getUserConversations(Long userId, Pageable pageable);
+    MessagingDtos.ConversationCursorResponse getConversationInbox(Long userId, String cursor, int size);
     MessagingDtos.ConversationListResponse getDirectConversations(Long userId, Pageable pageable);
     MessagingDtos.ConversationListResponse getGroupConversations(Long userId, Pageable pageable);
     void deleteConversation(Long conversationId, Long userId);
 
     MessagingDtos.MessageResponse sendMessage(MessagingDtos.SendMessageRequest request, Long senderId);
+    CompletableFuture<MessagingDtos.MessageResponse> sendMessageAsync(MessagingDtos.SendMessageRequest request, Long senderId);
     MessagingDtos.MessageListResponse getConversationMessages(Long conversationId, Long userId, Pageable pageable);
+    MessagingDtos.MessageCursorResponse getMessagesBefore(Long conversationId, Long userId, Long beforeId, int size);
+    MessagingDtos.MessageCursorResponse getMessagesAfter(Long conversationId, Long userId, Long afterId, int size);
     MessagingDtos.MessageResponse getMessageById(Long messageId, Long userId);
 
     void reactToMessage(Long messageId, String type, Long userId);
@@ -30,6 +36,8 @@ public interface MessageService {
     void leaveConversation(Long conversationId, Long userId);
 
     void markAsRead(MessagingDtos.MarkAsReadRequest request, Long userId);
+
+    MessagingDtos.MessageSearchResponse searchMessages(Long conversationId, Long userId, String query, Long beforeId, int size);
     int getUnreadCount(Long conversationId, Long userId);
     int getTotalUnreadCount(Long userId);
 
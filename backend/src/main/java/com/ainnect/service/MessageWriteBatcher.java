@@ -0,0 +1,405 @@
+package com.ainnect.service;
+
+import com.ainnect.common.enums.MessageType;
+import com.ainnect.dto.messaging.MessagingDtos;
+import com.ainnect.entity.Conversation;
+import com.ainnect.entity.Message;
+import com.ainnect.entity.MessageAttachment;
+import com.ainnect.entity.User;
+import com.ainnect.repository.ConversationMemberRepository;
+import com.ainnect.repository.ConversationRepository;
+import com.ainnect.repository.MessageAttachmentRepository;
+import com.ainnect.repository.MessageRepository;
+import com.ainnect.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group-commits outgoing messages per conversation. The first message for a
+ * conversation opens a short window; everything queued for it when the
+ * window closes is validated and written in one transaction that shares the
+ * conversation lookup, sequence allocation, unread-counter updates, the
+ * last-message pointer update and the search index postings. Messages get
+ * consecutive per-conversation sequence numbers in arrival order. If a batch
+ * transaction fails, its messages are retried one per transaction so one bad
+ * message cannot sink the rest; messages whose caller has already timed out
+ * are failed instead of retried.
+ */
+@Slf4j
+@Service
+public class MessageWriteBatcher {
+
+    private static final int LAST_MESSAGE_PREVIEW_LENGTH = 255;
+    private static final long IN_FLIGHT_GRACE_MILLIS = 1000;
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final MessageRepository messageRepository;
+    private final MessageAttachmentRepository messageAttachmentRepository;
+    private final UserRepository userRepository;
+    private final MessageSearchIndex messageSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final int maxBatch;
+    private final int maxPending;
+    private final long timeoutMillis;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writers;
+
+    public MessageWriteBatcher(ConversationRepository conversationRepository,
+                               ConversationMemberRepository conversationMemberRepository,
+                               MessageRepository messageRepository,
+                               MessageAttachmentRepository messageAttachmentRepository,
+                               UserRepository userRepository,
+                               MessageSearchIndex messageSearchIndex,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.messaging.write-batch.window-ms:5}") long windowMillis,
+                               @Value("${app.messaging.write-batch.max-batch:100}") int maxBatch,
+                               @Value("${app.messaging.write-batch.max-pending:1000}") int maxPending,
+                               @Value("${app.messaging.write-batch.timeout-ms:10000}") long timeoutMillis,
+                               @Value("${app.messaging.write-batch.threads:4}") int threads) {
+        this.conversationRepository = conversationRepository;
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.messageRepository = messageRepository;
+        this.messageAttachmentRepository = messageAttachmentRepository;
+        this.userRepository = userRepository;
+        this.messageSearchIndex = messageSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis)));
+        this.windowMillis = windowMillis;
+        this.maxBatch = maxBatch;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "message-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the message and blocks until its batch has committed. Validation
+     * failures surface as {@link IllegalArgumentException}, as they did when
+     * messages were written one by one. On timeout a message still waiting in
+     * its lane is withdrawn, so the caller's failure means it was not written
+     * and a retry cannot duplicate it. A message already taken into a batch
+     * is waited for once more, for at most one transaction timeout: the
+     * running transaction is bounded by it, and if that batch fails the
+     * message is failed rather than retried, since its deadline has passed.
+     */
+    public Written write(MessagingDtos.SendMessageRequest request, Long senderId) {
+        Pending pending = enqueue(request, senderId);
+        try {
+            try {
+                return pending.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (withdraw(request.getConversationId(), pending)) {
+                    throw new IllegalStateException("Timed out waiting for message to be written");
+                }
+                try {
+                    return pending.result.get(timeoutMillis + IN_FLIGHT_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException inFlight) {
+                    throw new IllegalStateException(
+                            "Timed out waiting for message to be written; it may still be delivered");
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to write message", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing message");
+        }
+    }
+
+    /**
+     * {@code batchTail} is set on the last message written by a batch, so
+     * follow-up work that covers the whole batch runs once.
+     */
+    public record Written(Message message, boolean batchTail) {}
+
+    public static String preview(String content) {
+        if (content == null || content.length() <= LAST_MESSAGE_PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, LAST_MESSAGE_PREVIEW_LENGTH);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    /**
+     * Queues the message without waiting. Messages submitted for the same
+     * conversation are written, and their futures completed, in submission order.
+     */
+    public CompletableFuture<Written> submit(MessagingDtos.SendMessageRequest request, Long senderId) {
+        return enqueue(request, senderId).result;
+    }
+
+    private Pending enqueue(MessagingDtos.SendMessageRequest request, Long senderId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Pending pending = new Pending(request, senderId, deadline);
+        if (request.getConversationId() == null) {
+            pending.result.completeExceptionally(new IllegalArgumentException("Conversation not found"));
+            return pending;
+        }
+        Long conversationId = request.getConversationId();
+        boolean[] opened = {false};
+        boolean[] rejected = {false};
+        lanes.compute(conversationId, (id, lane) -> {
+            if (lane == null) {
+                lane = new Lane();
+            }
+            if (lane.pending.size() >= maxPending) {
+                rejected[0] = true;
+                return lane;
+            }
+            lane.pending.add(pending);
+            if (!lane.scheduled) {
+                lane.scheduled = true;
+                opened[0] = true;
+            }
+            return lane;
+        });
+        if (rejected[0]) {
+            pending.result.completeExceptionally(
+                    new IllegalStateException("Too many messages in flight for this conversation, try again"));
+        } else if (opened[0]) {
+            writers.schedule(() -> flush(conversationId), windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return pending;
+    }
+
+    /**
+     * Removes the message from its lane if no batch has taken it yet.
+     * Returns whether it was removed.
+     */
+    private boolean withdraw(Long conversationId, Pending pending) {
+        boolean[] removed = {false};
+        lanes.computeIfPresent(conversationId, (id, lane) -> {
+            removed[0] = lane.pending.remove(pending);
+            return lane;
+        });
+        return removed[0];
+    }
+
+    private void flush(Long conversationId) {
+        List<Pending> batch = new ArrayList<>();
+        lanes.computeIfPresent(conversationId, (id, lane) -> {
+            while (batch.size() < maxBatch && !lane.pending.isEmpty()) {
+                batch.add(lane.pending.poll());
+            }
+            return lane;
+        });
+        try {
+            if (!batch.isEmpty()) {
+                writeBatch(conversationId, batch);
+            }
+        } finally {
+            boolean[] more = {false};
+            lanes.computeIfPresent(conversationId, (id, lane) -> {
+                if (lane.pending.isEmpty()) {
+                    return null;
+                }
+                more[0] = true;
+                return lane;
+            });
+            if (more[0]) {
+                writers.execute(() -> flush(conversationId));
+            }
+        }
+    }
+
+    private void writeBatch(Long conversationId, List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(conversationId, batch));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Message batch of {} for conversation {} failed, retrying individually: {}",
+                    batch.size(), conversationId, e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                failExpired(batch.subList(i, batch.size()));
+                Pending pending = batch.get(i);
+                if (!pending.result.isDone()) {
+                    writeBatch(conversationId, List.of(pending));
+                }
+            }
+            return;
+        }
+        for (Pending pending : batch) {
+            if (pending.rejection != null) {
+                pending.result.completeExceptionally(pending.rejection);
+            } else {
+                pending.result.complete(new Written(pending.message, pending.batchTail));
+            }
+        }
+    }
+
+    private static void failExpired(List<Pending> pendings) {
+        long now = System.nanoTime();
+        for (Pending pending : pendings) {
+            if (!pending.result.isDone() && now - pending.deadlineNanos > 0) {
+                pending.result.completeExceptionally(
+                        new IllegalStateException("Timed out waiting for message to be written"));
+            }
+        }
+    }
+
+    private void persist(Long conversationId, List<Pending> batch) {
+        batch.forEach(Pending::reset);
+        Conversation conversation = conversationRepository.findById(conversationId).orElse(null);
+        if (conversation == null) {
+            batch.forEach(p -> p.reject("Conversation not found"));
+            return;
+        }
+
+        Set<Long> senderIds = batch.stream().map(p -> p.senderId).collect(Collectors.toSet());
+        Set<Long> memberIds = new HashSet<>(conversationMemberRepository.findMemberUserIds(conversationId, senderIds));
+        Map<Long, User> senders = userRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> parentIds = batch.stream()
+                .map(p -> p.request.getReplyToMessageId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Message> parents = parentIds.isEmpty() ? Map.of()
+                : messageRepository.findActiveWithSenderByIdIn(parentIds).stream()
+                        .collect(Collectors.toMap(Message::getId, Function.identity()));
+
+        List<Pending> accepted = new ArrayList<>();
+        for (Pending pending : batch) {
+            MessagingDtos.SendMessageRequest request = pending.request;
+            if (!memberIds.contains(pending.senderId)) {
+                pending.reject("You are not a member of this conversation");
+                continue;
+            }
+            User sender = senders.get(pending.senderId);
+            if (sender == null) {
+                pending.reject("Sender not found");
+                continue;
+            }
+            Message parent = null;
+            if (request.getReplyToMessageId() != null) {
+                parent = parents.get(request.getReplyToMessageId());
+                if (parent == null) {
+                    pending.reject("Parent message not found");
+                    continue;
+                }
+                if (!parent.getConversation().getId().equals(conversationId)) {
+                    pending.reject("Parent message does not belong to this conversation");
+                    continue;
+                }
+            }
+            pending.message = Message.builder()
+                    .conversation(conversation)
+                    .sender(sender)
+                    .content(request.getContent())
+                    .messageType(request.getMessageType() != null ? request.getMessageType() : MessageType.text)
+                    .parent(parent)
+                    .build();
+            accepted.add(pending);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        conversationRepository.allocateSequences(conversationId, accepted.size());
+        long seq = conversationRepository.findLastSeq(conversationId) - accepted.size();
+        LocalDateTime now = LocalDateTime.now();
+        for (Pending pending : accepted) {
+            pending.message.setSeq(++seq);
+            pending.message.setCreatedAt(now);
+        }
+        List<Message> messages = accepted.stream().map(p -> p.message).toList();
+        messageRepository.saveAll(messages);
+        messageSearchIndex.index(messages);
+
+        List<MessageAttachment> attachments = new ArrayList<>();
+        for (Pending pending : accepted) {
+            List<String> urls = pending.request.getAttachmentUrls();
+            if (urls != null) {
+                for (String url : urls) {
+                    attachments.add(MessageAttachment.builder()
+                            .message(pending.message)
+                            .fileUrl(url)
+                            .createdAt(now)
+                            .build());
+                }
+            }
+        }
+        if (!attachments.isEmpty()) {
+            messageAttachmentRepository.saveAll(attachments);
+        }
+
+        Pending tail = accepted.get(accepted.size() - 1);
+        tail.batchTail = true;
+        conversationRepository.updateLastMessage(conversationId, tail.message.getId(), tail.senderId,
+                preview(tail.message.getContent()), tail.message.getMessageType(), now);
+        accepted.stream()
+                .collect(Collectors.groupingBy(p -> p.senderId, Collectors.counting()))
+                .forEach((senderId, count) ->
+                        conversationMemberRepository.incrementUnreadCounts(conversationId, senderId, count.intValue()));
+    }
+
+    private static final class Lane {
+        private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+        private boolean scheduled;
+    }
+
+    private static final class Pending {
+        private final MessagingDtos.SendMessageRequest request;
+        private final Long senderId;
+        private final long deadlineNanos;
+        private final CompletableFuture<Written> result = new CompletableFuture<>();
+        private Message message;
+        private RuntimeException rejection;
+        private boolean batchTail;
+
+        private Pending(MessagingDtos.SendMessageRequest request, Long senderId, long deadlineNanos) {
+            this.request = request;
+            this.senderId = senderId;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private void reject(String reason) {
+            rejection = new IllegalArgumentException(reason);
+        }
+
+        private void reset() {
+            message = null;
+            rejection = null;
+            batchTail = false;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.ainnect.service;
+
+import com.ainnect.common.enums.NotificationType;
+import com.ainnect.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Node-local, time-bucketed Bloom filter over targeted notifications
+ * (recipient, actor, type, target). A key absent from every live bucket is
+ * definitely new and skips the duplicate query; a hit falls back to the
+ * database. Buckets rotate out after {@code buckets * bucket-minutes}, so
+ * unread duplicates older than that window are no longer suppressed. The
+ * filter is warmed from recent unread rows on startup. Keys are recorded
+ * only on the node that created the notification, so with several nodes a
+ * duplicate created elsewhere is caught only if it was in the warmed rows.
+ */
+@Slf4j
+@Service
+public class NotificationDedupFilter {
+
+    private static final int WARM_BATCH_SIZE = 5000;
+
+    private final NotificationRepository notificationRepository;
+    private final long bucketMinutes;
+    private final Bucket[] buckets;
+    private final int bitCount;
+    private final int hashCount;
+
+    private final AtomicLong definitelyNew = new AtomicLong();
+    private final AtomicLong confirmedDuplicates = new AtomicLong();
+    private final AtomicLong unconfirmedHits = new AtomicLong();
+
+    public NotificationDedupFilter(NotificationRepository notificationRepository,
+                                   @Value("${app.notifications.dedup.buckets:4}") int bucketCount,
+                                   @Value("${app.notifications.dedup.bucket-minutes:360}") long bucketMinutes,
+                                   @Value("${app.notifications.dedup.expected-per-bucket:200000}") long expectedPerBucket,
+                                   @Value("${app.notifications.dedup.target-fpp:0.01}") double targetFpp) {
+        this.notificationRepository = notificationRepository;
+        this.bucketMinutes = bucketMinutes;
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedPerBucket * Math.log(targetFpp) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedPerBucket * ln2));
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket((bitCount + 63) / 64);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(bucketMinutes * buckets.length);
+        long afterId = 0L;
+        long loaded = 0;
+        try {
+            List<Object[]> batch;
+            do {
+                batch = notificationRepository.findUnreadDedupKeysSince(since, afterId, PageRequest.of(0, WARM_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    afterId = (Long) row[0];
+                    record((Long) row[1], (Long) row[2], (NotificationType) row[3], (String) row[4], (Long) row[5]);
+                }
+                loaded += batch.size();
+            } while (batch.size() == WARM_BATCH_SIZE);
+            log.info("Notification dedup filter warmed with {} keys ({} bits x {} buckets, k={})",
+                    loaded, bitCount, buckets.length, hashCount);
+        } catch (Exception e) {
+            log.warn("Failed to warm notification dedup filter, starting cold: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs {@code databaseCheck} only when the key may have been seen before.
+     */
+    public boolean isDuplicate(Long recipientId, Long actorId, NotificationType type, String targetType, Long targetId,
+                               BooleanSupplier databaseCheck) {
+        if (!mightContain(hash(recipientId, actorId, type, targetType, targetId))) {
+            definitelyNew.incrementAndGet();
+            return false;
+        }
+        boolean duplicate = databaseCheck.getAsBoolean();
+        (duplicate ? confirmedDuplicates : unconfirmedHits).incrementAndGet();
+        return duplicate;
+    }
+
+    public void record(Long recipientId, Long actorId, NotificationType type, String targetType, Long targetId) {
+        long[] hash = hash(recipientId, actorId, type, targetType, targetId);
+        Bucket bucket = currentBucket();
+        for (int i = 0; i < hashCount; i++) {
+            bucket.set(index(hash, i));
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(definitelyNew.get(), confirmedDuplicates.get(), unconfirmedHits.get());
+    }
+
+    /**
+     * {@code unconfirmedHits} counts filter hits whose database check found no
+     * unread duplicate. That covers Bloom false positives but also keys whose
+     * notification has since been read or deleted, so
+     * {@code unconfirmedHitRate} is an upper bound on the false-positive rate:
+     * the share of keys passed on as new that still cost a database lookup.
+     */
+    public record Stats(long definitelyNew, long confirmedDuplicates, long unconfirmedHits) {
+        public double unconfirmedHitRate() {
+            long fresh = definitelyNew + unconfirmedHits;
+            return fresh == 0 ? 0.0 : (double) unconfirmedHits / fresh;
+        }
+    }
+
+    private boolean mightContain(long[] hash) {
+        long epoch = currentEpoch();
+        for (Bucket bucket : buckets) {
+            if (epoch - bucket.epoch >= buckets.length) {
+                continue;
+            }
+            boolean all = true;
+            for (int i = 0; i < hashCount && all; i++) {
+                all = bucket.get(index(hash, i));
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Bucket currentBucket() {
+        long epoch = currentEpoch();
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        if (bucket.epoch != epoch) {
+            synchronized (bucket) {
+                if (bucket.epoch != epoch) {
+                    bucket.clear();
+                    bucket.epoch = epoch;
+                    Stats stats = stats();
+                    log.info("Notification dedup filter rotated: definitelyNew={}, confirmedDuplicates={}, unconfirmedHits={}, unconfirmedRate={}",
+                            stats.definitelyNew(), stats.confirmedDuplicates(), stats.unconfirmedHits(),
+                            String.format("%.4f", stats.unconfirmedHitRate()));
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private long currentEpoch() {
+        return System.currentTimeMillis() / 60_000L / bucketMinutes;
+    }
+
+    private int index(long[] hash, int i) {
+        return (int) Math.floorMod(hash[0] + i * hash[1], (long) bitCount);
+    }
+
+    private static long[] hash(Long recipientId, Long actorId, NotificationType type, String targetType, Long targetId) {
+        long h = 0x9E3779B97F4A7C15L;
+        h = mix(h ^ (recipientId != null ? recipientId : 0L));
+        h = mix(h ^ (actorId != null ? actorId : 0L));
+        h = mix(h ^ (type != null ? type.ordinal() : -1));
+        h = mix(h ^ (targetType != null ? targetType.hashCode() : 0));
+        h = mix(h ^ (targetId != null ? targetId : 0L));
+        return new long[] {h, mix(h ^ 0xC2B2AE3D27D4EB4FL) | 1L};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Bucket {
+        private final AtomicLongArray words;
+        private volatile long epoch = Long.MIN_VALUE / 2;
+
+        private Bucket(int wordCount) {
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        private boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+
+        private void set(int bit) {
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+
+        private void clear() {
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, 0L);
+            }
+        }
+    }
+}
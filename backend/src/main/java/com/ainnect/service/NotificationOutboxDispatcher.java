@@ -0,0 +1,103 @@
+package com.ainnect.service;
+
+import com.ainnect.dto.notification.NotificationCreateRequest;
+import com.ainnect.entity.NotificationOutbox;
+import com.ainnect.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the notification outbox in the background. Each tick claims due
+ * rows in batches and hands them to {@link NotificationService} in a single
+ * transaction. If a batch fails, its rows are retried one by one so a single
+ * bad intent cannot block the rest. Rows that keep failing back off and are
+ * eventually dropped.
+ */
+@Slf4j
+@Service
+public class NotificationOutboxDispatcher {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate rowTransaction;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        NotificationService notificationService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.notifications.outbox.batch-size:200}") int batchSize,
+                                        @Value("${app.notifications.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.rowTransaction = new TransactionTemplate(transactionManager);
+        this.rowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-interval-ms:500}")
+    public void drain() {
+        int claimed;
+        do {
+            try {
+                claimed = batchTransaction.execute(status -> dispatchBatch());
+            } catch (Exception e) {
+                log.warn("Notification outbox batch failed, retrying rows individually: {}", e.getMessage());
+                claimed = batchTransaction.execute(status -> dispatchIndividually());
+            }
+        } while (claimed == batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<NotificationOutbox> rows = claim();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        notificationService.createNotifications(rows.stream().map(NotificationOutboxDispatcher::toRequest).toList());
+        outboxRepository.deleteAllInBatch(rows);
+        return rows.size();
+    }
+
+    private int dispatchIndividually() {
+        List<NotificationOutbox> rows = claim();
+        for (NotificationOutbox row : rows) {
+            try {
+                rowTransaction.executeWithoutResult(status ->
+                        notificationService.createNotifications(List.of(toRequest(row))));
+                outboxRepository.delete(row);
+            } catch (Exception e) {
+                int attempts = row.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    log.error("Dropping notification outbox entry {} ({} for user {}) after {} attempts: {}",
+                            row.getId(), row.getType(), row.getRecipientId(), attempts, e.getMessage());
+                    outboxRepository.delete(row);
+                } else {
+                    row.setAttempts(attempts);
+                    row.setAvailableAt(LocalDateTime.now().plusSeconds(1L << attempts));
+                }
+            }
+        }
+        return rows.size();
+    }
+
+    private List<NotificationOutbox> claim() {
+        return outboxRepository.lockDueBatch(LocalDateTime.now(), PageRequest.of(0, batchSize));
+    }
+
+    private static NotificationCreateRequest toRequest(NotificationOutbox row) {
+        return new NotificationCreateRequest(row.getRecipientId(), row.getActorId(), row.getType(),
+                row.getTargetType(), row.getTargetId(), row.getMessage());
+    }
+}
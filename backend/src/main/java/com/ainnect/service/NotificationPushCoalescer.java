@@ -0,0 +1,137 @@
+package com.ainnect.service;
+
+import com.ainnect.dto.notification.NotificationResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges notification pushes per user into one frame per window. The first
+ * event for a user opens a window; everything arriving before it closes is
+ * flushed together with the user's unread count as read at flush time. A
+ * window that only saw read-state changes sends the plain unread-count frame.
+ * Each user's window holds a bounded number of notifications. On overflow
+ * the oldest are dropped and the frame is marked truncated so the client
+ * refetches the inbox. Flushes run on a small set of single-thread lanes
+ * picked by user id, so one user's frames stay in order while different
+ * users' unread-count lookups run in parallel.
+ */
+@Slf4j
+@Service
+public class NotificationPushCoalescer {
+
+    private final WebSocketService webSocketService;
+    private final NotificationUnreadReconcileJob notificationUnreadReconcileJob;
+    private final long windowMillis;
+    private final int maxPending;
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService[] flushers;
+
+    public NotificationPushCoalescer(WebSocketService webSocketService,
+                                     NotificationUnreadReconcileJob notificationUnreadReconcileJob,
+                                     @Value("${app.notifications.push.window-ms:200}") long windowMillis,
+                                     @Value("${app.notifications.push.max-pending:50}") int maxPending,
+                                     @Value("${app.notifications.push.threads:4}") int threads) {
+        this.webSocketService = webSocketService;
+        this.notificationUnreadReconcileJob = notificationUnreadReconcileJob;
+        this.windowMillis = windowMillis;
+        this.maxPending = maxPending;
+        this.flushers = new ScheduledExecutorService[Math.max(1, threads)];
+        for (int i = 0; i < flushers.length; i++) {
+            String name = "notification-push-" + i;
+            flushers[i] = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void push(Long userId, String username, NotificationResponse notification) {
+        enqueue(userId, username, notification);
+    }
+
+    public void pushUnreadCount(Long userId, String username) {
+        enqueue(userId, username, null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ScheduledExecutorService flusher : flushers) {
+            flusher.shutdown();
+        }
+    }
+
+    private void enqueue(Long userId, String username, NotificationResponse notification) {
+        boolean[] opened = {false};
+        windows.compute(userId, (id, window) -> {
+            if (window == null) {
+                window = new Window(username);
+                opened[0] = true;
+            }
+            if (notification != null) {
+                window.add(notification, maxPending);
+            }
+            return window;
+        });
+        if (opened[0]) {
+            flushers[Math.floorMod(userId.hashCode(), flushers.length)]
+                    .schedule(() -> flush(userId), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(Long userId) {
+        Window window = windows.remove(userId);
+        if (window == null) {
+            return;
+        }
+        try {
+            Long unreadCount = notificationUnreadReconcileJob.unreadCount(userId);
+            List<NotificationResponse> notifications;
+            synchronized (window) {
+                notifications = new ArrayList<>(window.notifications.values());
+            }
+            if (notifications.isEmpty()) {
+                webSocketService.sendNotificationUnreadCount(window.username, unreadCount);
+            } else {
+                webSocketService.sendNotificationBatch(window.username, notifications, unreadCount, window.truncated);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to push WS notifications for user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    private static final class Window {
+        private final String username;
+        private final Map<Long, NotificationResponse> notifications = new LinkedHashMap<>();
+        private boolean truncated;
+
+        private Window(String username) {
+            this.username = username;
+        }
+
+        private synchronized void add(NotificationResponse notification, int maxPending) {
+            // an aggregate updated twice in one window is sent once, latest state
+            notifications.remove(notification.id());
+            notifications.put(notification.id(), notification);
+            if (notifications.size() > maxPending) {
+                Iterator<Long> oldest = notifications.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                truncated = true;
+            }
+        }
+    }
+}
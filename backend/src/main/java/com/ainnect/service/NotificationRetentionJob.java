@@ -0,0 +1,94 @@
+package com.ainnect.service;
+
+import com.ainnect.entity.Notification;
+import com.ainnect.repository.NotificationRepository;
+import com.ainnect.repository.UserNotificationStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes notifications older than the retention window. Work is split into
+ * short transactions of at most {@code chunkSize} rows in primary-key order,
+ * with a pause in between, so the purge never holds wide locks or competes
+ * with the inbox for long. Unread counters are adjusted chunk by chunk. Each
+ * chunk is claimed with {@code SKIP LOCKED}, so nodes running the purge at
+ * the same time split the rows instead of counting them twice.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionJob {
+
+    private final NotificationRepository notificationRepository;
+    private final UserNotificationStatsRepository userNotificationStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    UserNotificationStatsRepository userNotificationStatsRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.notifications.retention.days:90}") int retentionDays,
+                                    @Value("${app.notifications.retention.chunk-size:1000}") int chunkSize,
+                                    @Value("${app.notifications.retention.pause-ms:100}") long pauseMillis) {
+        this.notificationRepository = notificationRepository;
+        this.userNotificationStatsRepository = userNotificationStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            total += deleted;
+            if (deleted == chunkSize && pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (deleted == chunkSize);
+        log.info("Purged {} notifications created before {}", total, cutoff);
+    }
+
+    private int purgeChunk(LocalDateTime cutoff) {
+        List<Notification> rows = notificationRepository.lockExpiredBatch(cutoff, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<Long, Integer> unreadByRecipient = new HashMap<>();
+        for (Notification row : rows) {
+            ids.add(row.getId());
+            if (!Boolean.TRUE.equals(row.getIsRead())) {
+                unreadByRecipient.merge(row.getRecipient().getId(), 1, Integer::sum);
+            }
+        }
+        notificationRepository.deleteByIdIn(ids);
+        unreadByRecipient.forEach((recipientId, unread) ->
+                userNotificationStatsRepository.adjustUnreadCount(recipientId, -unread));
+        return rows.size();
+    }
+}
@@ -1,6 +1,7 @@
 package com.ainnect.service;
 
 import com.ainnect.dto.notification.NotificationCreateRequest;
+import com.ainnect.dto.notification.NotificationCursorResponse;
 import com.ainnect.dto.notification.NotificationResponse;
 import com.ainnect.dto.notification.NotificationStatsDto;
 import com.ainnect.dto.notification.NotificationSummaryDto;
@@ -8,12 +9,20 @@ import com.ainnect.common.enums.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface NotificationService {
     
     NotificationResponse createNotification(NotificationCreateRequest request);
     
+    List<NotificationResponse> createNotifications(List<NotificationCreateRequest> requests);
+    
     Page<NotificationResponse> getUserNotifications(Long userId, Pageable pageable);
     
+    NotificationCursorResponse getInbox(Long userId, Long beforeId, int size);
+    
+    NotificationCursorResponse getChangesSince(Long userId, String since, int size);
+    
     NotificationStatsDto getNotificationStats(Long userId);
     
     NotificationResponse markAsRead(Long notificationId, Long userId);
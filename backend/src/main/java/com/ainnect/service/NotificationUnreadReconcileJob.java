@@ -0,0 +1,154 @@
+package com.ainnect.service;
+
+import com.ainnect.entity.JobCheckpoint;
+import com.ainnect.repository.JobCheckpointRepository;
+import com.ainnect.repository.NotificationRepository;
+import com.ainnect.repository.UserNotificationStatsRepository;
+import com.ainnect.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repairs drift in {@code user_notification_stats}. Users are walked in id
+ * order in chunks; each chunk reads the stored counters and then the unread
+ * counts with plain, non-locking reads, and writes a corrected counter only
+ * if it is unchanged since it was read. An increment that commits meanwhile
+ * makes the write miss and is left for the next run instead of being lost.
+ * One node runs it per interval, guarded by {@link ClusterJobLock}.
+ * <p>
+ * The first pass runs once after the application is ready, through
+ * {@link CheckpointedBackfill}, so counters exist before the first interval.
+ * Until that pass has reached a user, {@link #unreadCount} counts the user's
+ * unread notifications directly instead of trusting the stored counter.
+ */
+@Slf4j
+@Service
+public class NotificationUnreadReconcileJob {
+
+    private static final String JOB = "notification-unread-reconcile";
+    private static final String FIRST_PASS = "notification-unread-backfill";
+
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserNotificationStatsRepository userNotificationStatsRepository;
+    private final ClusterJobLock clusterJobLock;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration interval;
+    private final int chunkSize;
+    private volatile boolean firstPassComplete;
+
+    public NotificationUnreadReconcileJob(UserRepository userRepository,
+                                          NotificationRepository notificationRepository,
+                                          UserNotificationStatsRepository userNotificationStatsRepository,
+                                          ClusterJobLock clusterJobLock,
+                                          JobCheckpointRepository jobCheckpointRepository,
+                                          CheckpointedBackfill checkpointedBackfill,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.notifications.unread-reconcile-interval-ms:3600000}") long intervalMillis,
+                                          @Value("${app.notifications.unread-reconcile-chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.userNotificationStatsRepository = userNotificationStatsRepository;
+        this.clusterJobLock = clusterJobLock;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.interval = Duration.ofMillis(intervalMillis);
+        this.chunkSize = chunkSize;
+        checkpointedBackfill.register(FIRST_PASS, userRepository::findMaxId, (afterId, upToId) -> {
+            List<Long> userIds = userRepository.findIdsBetween(afterId, upToId, PageRequest.of(0, chunkSize));
+            if (!userIds.isEmpty()) {
+                reconcileChunk(userIds);
+            }
+            return userIds.size() < chunkSize ? upToId : userIds.get(userIds.size() - 1);
+        });
+    }
+
+    /**
+     * The user's unread notification count: the stored counter once the
+     * first pass has reconciled it, a direct count before that.
+     */
+    public long unreadCount(Long userId) {
+        if (isReconciled(userId)) {
+            return userNotificationStatsRepository.findUnreadCount(userId).map(Integer::longValue).orElse(0L);
+        }
+        return notificationRepository.countUnreadByRecipientIdIn(List.of(userId)).stream()
+                .findFirst()
+                .map(row -> ((Number) row[1]).longValue())
+                .orElse(0L);
+    }
+
+    private boolean isReconciled(Long userId) {
+        if (firstPassComplete) {
+            return true;
+        }
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(FIRST_PASS).orElse(null);
+        if (checkpoint == null) {
+            return false;
+        }
+        if (checkpoint.getPosition() >= checkpoint.getTarget()) {
+            firstPassComplete = true;
+            return true;
+        }
+        // users created after the pass started are counted live from their first notification
+        return userId <= checkpoint.getPosition() || userId > checkpoint.getTarget();
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.unread-reconcile-interval-ms:3600000}",
+               fixedDelayString = "${app.notifications.unread-reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (!clusterJobLock.tryAcquire(JOB, interval)) {
+            return;
+        }
+        long afterId = 0L;
+        long corrected = 0;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = userIds;
+            Integer fixed = transactionTemplate.execute(status -> reconcileChunk(chunk));
+            corrected += fixed != null ? fixed : 0;
+            afterId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == chunkSize);
+        log.info("Reconciled unread notification counters, {} corrected", corrected);
+    }
+
+    private int reconcileChunk(List<Long> userIds) {
+        Map<Long, Integer> stored = new HashMap<>();
+        for (Object[] row : userNotificationStatsRepository.findUnreadCountsByUserIdIn(userIds)) {
+            stored.put((Long) row[0], (Integer) row[1]);
+        }
+        Map<Long, Integer> actual = new HashMap<>();
+        for (Object[] row : notificationRepository.countUnreadByRecipientIdIn(userIds)) {
+            actual.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        int corrected = 0;
+        for (Long userId : userIds) {
+            int count = actual.getOrDefault(userId, 0);
+            Integer current = stored.get(userId);
+            if (current == null) {
+                if (count > 0) {
+                    corrected += userNotificationStatsRepository.insertIfAbsent(userId, count);
+                }
+            } else if (current != count) {
+                corrected += userNotificationStatsRepository.compareAndSetUnreadCount(userId, current, count);
+            }
+        }
+        return corrected;
+    }
+}
@@ -6,7 +6,6 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.util.List;
 
@@ -15,12 +14,12 @@ public class PostAsyncService {
 
     private final FileStorageService fileStorageService;
     private final PostService postService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketService webSocketService;
 
-    public PostAsyncService(FileStorageService fileStorageService, PostService postService, SimpMessagingTemplate messagingTemplate) {
+    public PostAsyncService(FileStorageService fileStorageService, PostService postService, WebSocketService webSocketService) {
         this.fileStorageService = fileStorageService;
         this.postService = postService;
-        this.messagingTemplate = messagingTemplate;
+        this.webSocketService = webSocketService;
     }
 
     @Async("postMediaExecutor")
@@ -40,7 +39,7 @@ public class PostAsyncService {
 
             PostDtos.Response updated = postService.update(postId, update);
 
-            messagingTemplate.convertAndSend("/topic/users/" + authorId + "/posts",
+            webSocketService.sendUserPostUpdate(authorId,
                     java.util.Map.of(
                             "type", "POST_UPDATED",
                             "postId", postId,
@@ -48,7 +47,7 @@ public class PostAsyncService {
                     ));
                     return new AsyncResult<>(null);
                 } catch (Exception ex) {
-            messagingTemplate.convertAndSend("/topic/users/" + authorId + "/posts",
+            webSocketService.sendUserPostUpdate(authorId,
                     java.util.Map.of(
                             "type", "POST_UPDATE_FAILED",
                             "postId", postId,
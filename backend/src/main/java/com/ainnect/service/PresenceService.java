@@ -0,0 +1,276 @@
+package com.ainnect.service;
+
+import com.ainnect.entity.User;
+import com.ainnect.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory presence. Sessions are tracked per user from STOMP
+ * connect/disconnect, and any inbound frame including heartbeats refreshes
+ * the user's last-seen time. Last-seen times are kept in memory and written
+ * to {@code users.last_seen_at} in periodic batches.
+ * With a {@link WebSocketClusterBus}, each node publishes a user's first
+ * connect and last disconnect, plus a full snapshot of its online users every
+ * announce interval. A user is online if connected here or listed by any
+ * other node; snapshots correct lost or reordered updates, a node that stops
+ * announcing is forgotten after a few intervals, and a new node learns the
+ * others' users within one interval.
+ * Typing events are throttled per (conversation, user): a start is forwarded
+ * at most once per throttle interval and a stop only after a forwarded start.
+ */
+@Slf4j
+@Service
+public class PresenceService {
+
+    private static final String CLUSTER_TOPIC = "presence";
+    private static final byte SNAPSHOT = 0;
+    private static final byte ONLINE = 1;
+    private static final byte OFFLINE = 2;
+    private static final int NODE_EXPIRY_INTERVALS = 3;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final WebSocketClusterBus bus;
+    private final String nodeId;
+    private final long typingThrottleMillis;
+    private final long typingExpiryMillis;
+    private final long announceMillis;
+
+    private final Map<String, Long> sessionUsers = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> sessionCounts = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingLastSeen = new ConcurrentHashMap<>();
+    private final Map<TypingKey, Long> typingSince = new ConcurrentHashMap<>();
+    private final Map<String, RemoteNode> remoteNodes = new ConcurrentHashMap<>();
+
+    public PresenceService(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           ObjectProvider<WebSocketClusterBus> bus,
+                           @Value("${app.websocket.cluster.node-id:}") String nodeId,
+                           @Value("${app.presence.typing.throttle-ms:3000}") long typingThrottleMillis,
+                           @Value("${app.presence.typing.expiry-ms:10000}") long typingExpiryMillis,
+                           @Value("${app.presence.cluster-announce-ms:15000}") long announceMillis) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bus = bus.getIfAvailable();
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.typingThrottleMillis = typingThrottleMillis;
+        this.typingExpiryMillis = typingExpiryMillis;
+        this.announceMillis = announceMillis;
+        if (this.bus != null) {
+            this.bus.subscribe(CLUSTER_TOPIC, this::receive);
+        }
+    }
+
+    public void connect(String sessionId, String username) {
+        if (sessionId == null || username == null) {
+            return;
+        }
+        Long userId = userRepository.findByUsername(username).map(User::getId).orElse(null);
+        if (userId == null || sessionUsers.putIfAbsent(sessionId, userId) != null) {
+            return;
+        }
+        if (sessionCounts.merge(userId, 1, Integer::sum) == 1) {
+            publish(ONLINE, List.of(userId));
+        }
+        pendingLastSeen.put(userId, LocalDateTime.now());
+    }
+
+    public void disconnect(String sessionId) {
+        Long userId = sessionId != null ? sessionUsers.remove(sessionId) : null;
+        if (userId == null) {
+            return;
+        }
+        if (sessionCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null) == null) {
+            publish(OFFLINE, List.of(userId));
+        }
+        pendingLastSeen.put(userId, LocalDateTime.now());
+    }
+
+    public void touch(String sessionId) {
+        Long userId = sessionId != null ? sessionUsers.get(sessionId) : null;
+        if (userId != null) {
+            pendingLastSeen.put(userId, LocalDateTime.now());
+        }
+    }
+
+    public boolean isOnline(Long userId) {
+        if (sessionCounts.containsKey(userId)) {
+            return true;
+        }
+        for (RemoteNode node : remoteNodes.values()) {
+            if (node.users.contains(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Presence for every requested user, with one last-seen query for users
+     * whose last-seen time is not already in memory.
+     */
+    public Map<Long, Presence> getPresence(Collection<Long> userIds) {
+        Map<Long, Presence> presence = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (userId == null || presence.containsKey(userId)) {
+                continue;
+            }
+            LocalDateTime lastSeen = pendingLastSeen.get(userId);
+            if (lastSeen != null) {
+                presence.put(userId, new Presence(isOnline(userId), lastSeen));
+            } else {
+                presence.put(userId, new Presence(isOnline(userId), null));
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Object[] row : userRepository.findLastSeenAtByIdIn(missing)) {
+                Long userId = (Long) row[0];
+                presence.put(userId, new Presence(isOnline(userId), (LocalDateTime) row[1]));
+            }
+        }
+        return presence;
+    }
+
+    public record Presence(boolean online, LocalDateTime lastSeenAt) {}
+
+    /**
+     * Whether a typing event should be broadcast. Repeated starts inside the
+     * throttle interval and stops without a forwarded start are dropped.
+     */
+    public boolean acceptTyping(Long conversationId, Long userId, boolean typing) {
+        TypingKey key = new TypingKey(conversationId, userId);
+        if (!typing) {
+            return typingSince.remove(key) != null;
+        }
+        long now = System.currentTimeMillis();
+        boolean[] accepted = {false};
+        typingSince.compute(key, (k, since) -> {
+            if (since == null || now - since >= typingThrottleMillis) {
+                accepted[0] = true;
+                return now;
+            }
+            return since;
+        });
+        return accepted[0];
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.last-seen-flush-ms:30000}")
+    public void flushLastSeen() {
+        long typingCutoff = System.currentTimeMillis() - typingExpiryMillis;
+        typingSince.values().removeIf(since -> since < typingCutoff);
+
+        if (pendingLastSeen.isEmpty()) {
+            return;
+        }
+        Map<Long, LocalDateTime> batch = new HashMap<>(pendingLastSeen);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    batch.forEach(userRepository::updateLastSeenAt));
+            // keep entries that were refreshed while the batch was written
+            batch.forEach(pendingLastSeen::remove);
+        } catch (Exception e) {
+            log.warn("Failed to persist last-seen for {} users: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.cluster-announce-ms:15000}")
+    public void announce() {
+        if (bus == null) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - NODE_EXPIRY_INTERVALS * announceMillis;
+        remoteNodes.values().removeIf(node -> node.seenAt < cutoff);
+        publish(SNAPSHOT, sessionCounts.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // an empty snapshot lets the other nodes drop this node's users right away
+        publish(SNAPSHOT, List.of());
+        flushLastSeen();
+    }
+
+    private void publish(byte kind, Collection<Long> userIds) {
+        if (bus == null) {
+            return;
+        }
+        try {
+            List<Long> ids = new ArrayList<>(userIds);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + ids.size() * Long.BYTES);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeUTF(nodeId);
+            out.writeByte(kind);
+            out.writeInt(ids.size());
+            for (Long id : ids) {
+                out.writeLong(id);
+            }
+            bus.publish(CLUSTER_TOPIC, buffer.toByteArray());
+        } catch (Exception e) {
+            log.warn("Failed to publish presence to cluster: {}", e.getMessage());
+        }
+    }
+
+    private void receive(byte[] frame) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+            String origin = in.readUTF();
+            if (nodeId.equals(origin)) {
+                return;
+            }
+            byte kind = in.readByte();
+            int count = in.readInt();
+            Set<Long> ids = new HashSet<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(in.readLong());
+            }
+            if (kind == SNAPSHOT && ids.isEmpty()) {
+                remoteNodes.remove(origin);
+                return;
+            }
+            RemoteNode node = remoteNodes.computeIfAbsent(origin, o -> new RemoteNode());
+            node.seenAt = System.currentTimeMillis();
+            switch (kind) {
+                case SNAPSHOT -> {
+                    node.users.retainAll(ids);
+                    node.users.addAll(ids);
+                }
+                case ONLINE -> node.users.addAll(ids);
+                case OFFLINE -> node.users.removeAll(ids);
+                default -> log.warn("Unknown presence frame kind {} from {}", kind, origin);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply presence from cluster: {}", e.getMessage());
+        }
+    }
+
+    private record TypingKey(Long conversationId, Long userId) {}
+
+    private static final class RemoteNode {
+        private final Set<Long> users = ConcurrentHashMap.newKeySet();
+        private volatile long seenAt = System.currentTimeMillis();
+    }
+}
@@ -8,10 +8,13 @@ import com.ainnect.dto.profile.WorkExperienceDtos;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Set;
 
 public interface ProfileService {
 
     ProfileDtos.ProfileResponse getUserProfile(Long userId, Long currentUserId, int page, int size);
+    ProfileDtos.ProfileResponse getUserProfile(Long userId, Long currentUserId, int page, int size, Set<String> fields);
+    ProfileDtos.ProfileCore getProfileCore(Long userId);
     ProfileDtos.ProfileUpdateResponse updateProfile(ProfileDtos.ProfileUpdateRequest request, Long userId);
 
     ProfileDtos.ProfilePostsResponse getUserPosts(Long userId, Long currentUserId, Pageable pageable);
@@ -0,0 +1,151 @@
+package com.ainnect.service;
+
+import com.ainnect.dto.messaging.MessagingDtos;
+import com.ainnect.repository.ConversationMemberRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Merges read receipts per (conversation, user) into one write per window.
+ * The first receipt for a pair checks membership; later receipts only raise
+ * the pending message id. Pairs are spread over a small set of single-thread
+ * lanes by key. Each lane ticks once per window while it has work and
+ * advances every pending read pointer of the lane in one batched UPDATE,
+ * each to the highest id seen. Only for pointers that actually moved are the
+ * {@code MESSAGE_READ} frame and the reader's unread badge sent.
+ */
+@Slf4j
+@Service
+public class ReadReceiptCoalescer {
+
+    private final ConversationMemberRepository conversationMemberRepository;
+    private final WebSocketService webSocketService;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final Lane[] lanes;
+
+    public ReadReceiptCoalescer(ConversationMemberRepository conversationMemberRepository,
+                                WebSocketService webSocketService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.messaging.read-receipts.window-ms:500}") long windowMillis,
+                                @Value("${app.messaging.read-receipts.threads:4}") int threads) {
+        this.conversationMemberRepository = conversationMemberRepository;
+        this.webSocketService = webSocketService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowMillis = windowMillis;
+        this.lanes = new Lane[Math.max(1, threads)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane("read-receipts-" + i);
+        }
+    }
+
+    public void markRead(Long conversationId, Long userId, Long messageId) {
+        Key key = new Key(conversationId, userId);
+        Lane lane = lanes[Math.floorMod(key.hashCode(), lanes.length)];
+        if (!lane.pending.containsKey(key) && !conversationMemberRepository.existsByConversationIdAndUserId(conversationId, userId)) {
+            throw new IllegalArgumentException("You are not a member of this conversation");
+        }
+        lane.pending.merge(key, messageId, Math::max);
+        if (lane.scheduled.compareAndSet(false, true)) {
+            lane.flusher.schedule(() -> flush(lane), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.flusher.shutdown();
+            flush(lane);
+        }
+    }
+
+    private void flush(Lane lane) {
+        lane.scheduled.set(false);
+        Map<Key, Long> batch = new LinkedHashMap<>();
+        for (Key key : lane.pending.keySet()) {
+            Long messageId = lane.pending.remove(key);
+            if (messageId != null) {
+                batch.put(key, messageId);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        String receipts = toJson(batch);
+        Set<Key> advanced = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Object[] row : conversationMemberRepository.findAdvancingReceipts(receipts)) {
+                    advanced.add(new Key(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+                }
+                if (!advanced.isEmpty()) {
+                    conversationMemberRepository.markReadUpToBatch(receipts);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to flush {} read receipts: {}", batch.size(), e.getMessage());
+            return;
+        }
+        for (Key key : advanced) {
+            try {
+                webSocketService.sendReadReceipt(key.conversationId(), MessagingDtos.MarkAsReadRequest.builder()
+                        .conversationId(key.conversationId())
+                        .messageId(batch.get(key))
+                        .userId(key.userId())
+                        .build());
+                List<Object[]> badges = conversationMemberRepository.findUnreadBadge(key.conversationId(), key.userId());
+                for (Object[] badge : badges) {
+                    webSocketService.sendUnreadCount((String) badge[0], key.conversationId(),
+                            (Integer) badge[1], ((Number) badge[2]).longValue());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to push read receipt for conversation {} user {}: {}",
+                        key.conversationId(), key.userId(), e.getMessage());
+            }
+        }
+    }
+
+    private static String toJson(Map<Key, Long> batch) {
+        StringBuilder json = new StringBuilder(batch.size() * 48).append('[');
+        batch.forEach((key, messageId) -> {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"c\":").append(key.conversationId())
+                    .append(",\"u\":").append(key.userId())
+                    .append(",\"m\":").append(messageId).append('}');
+        });
+        return json.append(']').toString();
+    }
+
+    private static final class Lane {
+        private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final ScheduledExecutorService flusher;
+
+        private Lane(String name) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private record Key(Long conversationId, Long userId) {}
+}
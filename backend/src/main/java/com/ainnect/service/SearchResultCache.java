@@ -0,0 +1,125 @@
+package com.ainnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of viewer-independent search hits keyed by
+ * (normalized keyword, type, page, size). Only id lists are cached; the
+ * caller re-applies block filtering and per-viewer decoration. Concurrent
+ * misses on the same key share a single backend query.
+ */
+@Slf4j
+@Service
+public class SearchResultCache {
+
+    public static final String TYPE_USERS = "users";
+    public static final String TYPE_GROUPS = "groups";
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public SearchResultCache(@Value("${app.search.cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${app.search.cache.max-entries:2000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public static String normalize(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public Hits get(String normalizedKeyword, String type, int page, int size, Supplier<Hits> loader) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+        Key key = new Key(normalizedKeyword, type, page, size);
+        long now = System.currentTimeMillis();
+
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return join(existing.future);
+        }
+
+        Entry fresh = new Entry(new CompletableFuture<>(), now + ttlMillis);
+        Entry winner = entries.compute(key, (k, current) ->
+                current == null || current.isExpired(now) ? fresh : current);
+        if (winner != fresh) {
+            return join(winner.future);
+        }
+
+        Hits hits;
+        try {
+            hits = loader.get();
+        } catch (Throwable e) {
+            // waiters must never be left blocked on a future nobody completes
+            entries.remove(key, fresh);
+            fresh.future.completeExceptionally(e);
+            throw e;
+        }
+        fresh.future.complete(hits);
+        evictIfNeeded(now);
+        return hits;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictIfNeeded(long now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        int overflow = entries.size() - maxEntries;
+        if (overflow > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+            log.debug("Search cache over capacity, evicted {} entries", overflow);
+        }
+    }
+
+    private Hits join(CompletableFuture<Hits> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public record Hits(List<Long> ids, long totalElements) {
+    }
+
+    private record Key(String keyword, String type, int page, int size) {
+    }
+
+    private record Entry(CompletableFuture<Hits> future, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
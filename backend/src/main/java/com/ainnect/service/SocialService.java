@@ -4,6 +4,8 @@ import com.ainnect.common.enums.ReportReason;
 import com.ainnect.common.enums.ReportStatus;
 import com.ainnect.dto.social.SocialDtos;
 
+import java.util.List;
+
 public interface SocialService {
 
     SocialDtos.SocialActionResponse followUser(Long followerId, Long followeeId);
@@ -17,6 +19,7 @@ public interface SocialService {
     SocialDtos.SocialActionResponse rejectFriendRequest(Long userId, Long friendshipId);
     SocialDtos.SocialActionResponse removeFriend(Long userId, Long friendId);
     SocialDtos.FriendshipListResponse getFriends(Long userId, int page, int size);
+    List<SocialDtos.FriendPresenceResponse> getFriendsPresence(Long userId);
     SocialDtos.FriendshipListResponse getFriendRequests(Long userId, int page, int size);
     SocialDtos.FriendshipListResponse getSentFriendRequests(Long userId, int page, int size);
     boolean isFriend(Long userId1, Long userId2);
@@ -0,0 +1,263 @@
+package com.ainnect.service;
+
+import com.ainnect.common.AfterCommit;
+import com.ainnect.common.enums.SuggestionType;
+import com.ainnect.entity.Suggestion;
+import com.ainnect.repository.EducationRepository;
+import com.ainnect.repository.InterestRepository;
+import com.ainnect.repository.SuggestionRepository;
+import com.ainnect.repository.UserLocationRepository;
+import com.ainnect.repository.WorkExperienceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory suggestion dictionary, one index per {@link SuggestionType}.
+ * Names are indexed at every word boundary so a query matches the start of
+ * any word in the name. Built from the profile tables on startup and on a
+ * fixed delay, and kept current in between by the profile edit paths.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestionDictionary {
+
+    private final EducationRepository educationRepository;
+    private final WorkExperienceRepository workExperienceRepository;
+    private final InterestRepository interestRepository;
+    private final UserLocationRepository userLocationRepository;
+    private final SuggestionRepository suggestionRepository;
+
+    private final Map<SuggestionType, Index> indexes = new ConcurrentHashMap<>();
+
+    // edits committed after a rebuild started reading a type's table, replayed onto that type's rebuilt
+    // index; edits applied before the read started are already part of what the read returns
+    private final Object changeLock = new Object();
+    private Map<SuggestionType, List<Runnable>> changesDuringRebuild;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.suggestions.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (changeLock) {
+            changesDuringRebuild = new EnumMap<>(SuggestionType.class);
+        }
+        Map<SuggestionType, Index> rebuilt = new EnumMap<>(SuggestionType.class);
+        try {
+            startReading(SuggestionType.school);
+            rebuilt.put(SuggestionType.school, build(educationRepository.countGroupedBySchoolName(),
+                    educationRepository.findImageUrlsBySchoolName(), SuggestionType.school));
+            startReading(SuggestionType.company);
+            rebuilt.put(SuggestionType.company, build(workExperienceRepository.countGroupedByCompanyName(),
+                    workExperienceRepository.findImageUrlsByCompanyName(), SuggestionType.company));
+            startReading(SuggestionType.interest);
+            rebuilt.put(SuggestionType.interest, build(interestRepository.countGroupedByName(),
+                    interestRepository.findImageUrlsByName(), SuggestionType.interest));
+            startReading(SuggestionType.location);
+            rebuilt.put(SuggestionType.location, build(userLocationRepository.countGroupedByLocationName(),
+                    userLocationRepository.findImageUrlsByLocationName(), SuggestionType.location));
+        } catch (Exception e) {
+            log.error("Failed to rebuild suggestion dictionary: {}", e.getMessage());
+            synchronized (changeLock) {
+                changesDuringRebuild = null;
+            }
+            return;
+        }
+        synchronized (changeLock) {
+            indexes.putAll(rebuilt);
+            changesDuringRebuild.values().forEach(changes -> changes.forEach(Runnable::run));
+            changesDuringRebuild = null;
+        }
+        log.info("Suggestion dictionary rebuilt: {}", rebuilt.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().entries.size())
+                .toList());
+    }
+
+    public List<Entry> lookup(SuggestionType type, String query, int limit) {
+        Index index = indexes.get(type);
+        if (index == null || limit <= 0) {
+            return List.of();
+        }
+        String prefix = normalize(query);
+        Comparator<Entry> order = Comparator.comparingLong(Entry::getCount).reversed()
+                .thenComparing(Entry::getName);
+
+        if (prefix.isEmpty()) {
+            return index.entries.values().stream()
+                    .filter(entry -> entry.getCount() > 0)
+                    .sorted(order)
+                    .limit(limit)
+                    .toList();
+        }
+
+        Set<String> names = new HashSet<>();
+        index.tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                .values()
+                .forEach(names::addAll);
+        return names.stream()
+                .map(index.entries::get)
+                .filter(Objects::nonNull)
+                .filter(entry -> entry.getCount() > 0)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    public void recordAdded(SuggestionType type, String name, String imageUrl) {
+        AfterCommit.run(() -> apply(type, () -> add(type, name, imageUrl, 1)));
+    }
+
+    public void recordRemoved(SuggestionType type, String name) {
+        AfterCommit.run(() -> apply(type, () -> decrement(type, name)));
+    }
+
+    public void recordUpdated(SuggestionType type, String oldName, String newName, String imageUrl) {
+        AfterCommit.run(() -> apply(type, () -> {
+            if (Objects.equals(oldName, newName)) {
+                add(type, newName, imageUrl, 0);
+            } else {
+                decrement(type, oldName);
+                add(type, newName, imageUrl, 1);
+            }
+        }));
+    }
+
+    private void startReading(SuggestionType type) {
+        synchronized (changeLock) {
+            changesDuringRebuild.put(type, new ArrayList<>());
+        }
+    }
+
+    private void apply(SuggestionType type, Runnable change) {
+        synchronized (changeLock) {
+            change.run();
+            List<Runnable> pending = changesDuringRebuild != null ? changesDuringRebuild.get(type) : null;
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    private Index build(List<Object[]> counts, List<Object[]> images, SuggestionType type) {
+        Index index = new Index();
+        for (Object[] row : counts) {
+            index.put((String) row[0], ((Number) row[1]).longValue(), null);
+        }
+        for (Object[] row : images) {
+            Entry entry = index.entries.get((String) row[0]);
+            if (entry != null && entry.imageUrl == null) {
+                entry.imageUrl = (String) row[1];
+            }
+        }
+        for (Suggestion curated : suggestionRepository.findByTypeAndDeletedAtIsNullOrderByUsageCountDescNameAsc(type)) {
+            // names used in profiles keep their profile count; usage_count only ranks curated-only names
+            Entry entry = index.entries.get(curated.getName());
+            if (entry == null) {
+                entry = index.put(curated.getName(), curated.getUsageCount() != null ? curated.getUsageCount() : 0, null);
+            }
+            if (entry != null && entry.imageUrl == null) {
+                entry.imageUrl = curated.getImageUrl();
+            }
+        }
+        return index;
+    }
+
+    private void add(SuggestionType type, String name, String imageUrl, long delta) {
+        Index index = indexes.computeIfAbsent(type, t -> new Index());
+        index.put(name, delta, imageUrl);
+    }
+
+    private void decrement(SuggestionType type, String name) {
+        Index index = indexes.get(type);
+        if (index == null || name == null) {
+            return;
+        }
+        Entry entry = index.entries.get(name);
+        if (entry != null && entry.count.decrementAndGet() <= 0) {
+            index.remove(name);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Index {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<String>> tokens = new ConcurrentSkipListMap<>();
+
+        private Entry put(String name, long delta, String imageUrl) {
+            if (name == null || name.isBlank()) {
+                return null;
+            }
+            Entry entry = entries.computeIfAbsent(name, n -> {
+                tokenKeys(n).forEach(key -> tokens.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(n));
+                return new Entry(n);
+            });
+            entry.count.addAndGet(delta);
+            if (imageUrl != null) {
+                entry.imageUrl = imageUrl;
+            }
+            return entry;
+        }
+
+        private void remove(String name) {
+            if (entries.remove(name) == null) {
+                return;
+            }
+            for (String key : tokenKeys(name)) {
+                tokens.computeIfPresent(key, (k, names) -> {
+                    names.remove(name);
+                    return names.isEmpty() ? null : names;
+                });
+            }
+        }
+
+        private static List<String> tokenKeys(String name) {
+            String normalized = normalize(name);
+            List<String> keys = new ArrayList<>();
+            keys.add(normalized);
+            for (int i = 1; i < normalized.length(); i++) {
+                if (normalized.charAt(i - 1) == ' ' || normalized.charAt(i - 1) == '-') {
+                    keys.add(normalized.substring(i));
+                }
+            }
+            return keys;
+        }
+    }
+
+    public static final class Entry {
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+        private volatile String imageUrl;
+
+        private Entry(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+    }
+}
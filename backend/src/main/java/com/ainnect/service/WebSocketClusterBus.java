@@ -0,0 +1,15 @@
+package com.ainnect.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Shared channel between backend nodes for WebSocket traffic. Every frame
+ * published on a topic by any node, including the publisher itself, is
+ * handed to every subscriber of that topic on every node.
+ */
+public interface WebSocketClusterBus {
+
+    void publish(String topic, byte[] frame);
+
+    void subscribe(String topic, Consumer<byte[]> listener);
+}
@@ -0,0 +1,140 @@
+package com.ainnect.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Single exit point for server-initiated STOMP frames. Payloads are encoded
+ * to JSON once into a {@link Message} with a {@code byte[]} body; the same
+ * buffer is handed to the local broker for every destination it is sent to
+ * and published unchanged to the {@link WebSocketClusterBus} when one is
+ * configured. Frames published by other nodes are delivered to the local
+ * broker on arrival without being decoded. User destinations travel with the
+ * username and are resolved by each node against its own session registry,
+ * so a user's sessions are reached wherever they are connected. Nodes ignore
+ * their own frames coming back from the bus.
+ */
+@Slf4j
+@Service
+public class WebSocketRelay {
+
+    private static final String TOPIC = "frames";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ObjectMapper objectMapper;
+    private final WebSocketClusterBus bus;
+    private final String nodeId;
+
+    public WebSocketRelay(SimpMessagingTemplate messagingTemplate,
+                          SimpUserRegistry userRegistry,
+                          ObjectMapper objectMapper,
+                          ObjectProvider<WebSocketClusterBus> bus,
+                          @Value("${app.websocket.cluster.node-id:}") String nodeId) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.objectMapper = objectMapper;
+        this.bus = bus.getIfAvailable();
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        if (this.bus != null) {
+            this.bus.subscribe(TOPIC, this::receive);
+        }
+    }
+
+    /**
+     * Encodes the payload once. The returned message can be sent to any
+     * number of destinations.
+     */
+    public Message<byte[]> encode(Object payload) {
+        try {
+            return frame(objectMapper.writeValueAsBytes(payload));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to encode WS payload", e);
+        }
+    }
+
+    public void send(String destination, Object payload) {
+        send(destination, encode(payload));
+    }
+
+    public void send(String destination, Message<byte[]> frame) {
+        messagingTemplate.send(destination, frame);
+        publish(null, destination, frame.getPayload());
+    }
+
+    public void sendToUser(String username, String destination, Object payload) {
+        sendToUser(username, destination, encode(payload));
+    }
+
+    public void sendToUser(String username, String destination, Message<byte[]> frame) {
+        messagingTemplate.send(userDestination(username, destination), frame);
+        publish(username, destination, frame.getPayload());
+    }
+
+    private String userDestination(String username, String destination) {
+        // same encoding SimpMessagingTemplate.convertAndSendToUser applies
+        String prefix = messagingTemplate.getUserDestinationPrefix();
+        String user = StringUtils.replace(username, "/", "%2F");
+        return prefix + user + (destination.startsWith("/") ? destination : "/" + destination);
+    }
+
+    private static Message<byte[]> frame(byte[] body) {
+        return MessageBuilder.withPayload(body)
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                .build();
+    }
+
+    private void publish(String username, String destination, byte[] body) {
+        if (bus == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length + 128);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeUTF(nodeId);
+            out.writeUTF(username != null ? username : "");
+            out.writeUTF(destination);
+            out.write(body);
+            bus.publish(TOPIC, buffer.toByteArray());
+        } catch (Exception e) {
+            log.warn("Failed to publish WS frame for {} to cluster: {}", destination, e.getMessage());
+        }
+    }
+
+    private void receive(byte[] clusterFrame) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(clusterFrame));
+            String origin = in.readUTF();
+            if (nodeId.equals(origin)) {
+                return;
+            }
+            String username = in.readUTF();
+            String destination = in.readUTF();
+            Message<byte[]> frame = frame(in.readAllBytes());
+            if (username.isEmpty()) {
+                messagingTemplate.send(destination, frame);
+            } else if (userRegistry.getUser(username) != null) {
+                messagingTemplate.send(userDestination(username, destination), frame);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to deliver WS frame from cluster: {}", e.getMessage());
+        }
+    }
+}
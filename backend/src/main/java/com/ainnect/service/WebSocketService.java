@@ -2,7 +2,7 @@ package com.ainnect.service;
 
 import com.ainnect.dto.messaging.MessagingDtos;
 import com.ainnect.dto.notification.NotificationResponse;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -11,14 +11,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class WebSocketService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketRelay relay;
 
     public void sendMessageToConversation(Long conversationId, MessagingDtos.WebSocketMessage message) {
-        messagingTemplate.convertAndSend("/topic/conversations/" + conversationId, message);
+        relay.send("/topic/conversations/" + conversationId, message);
     }
 
     public void sendMessageToUser(String username, MessagingDtos.WebSocketMessage message) {
-        messagingTemplate.convertAndSendToUser(username, "/queue/messages", message);
+        relay.sendToUser(username, "/queue/messages", message);
+    }
+
+    /**
+     * Sends the same frame to the conversation topic and to the user's own
+     * queue, encoding it once.
+     */
+    public void sendMessageToConversationAndUser(Long conversationId, String username,
+                                                 MessagingDtos.WebSocketMessage message) {
+        Message<byte[]> frame = relay.encode(message);
+        relay.send("/topic/conversations/" + conversationId, frame);
+        relay.sendToUser(username, "/queue/messages", frame);
     }
 
     public void sendTypingIndicator(Long conversationId, MessagingDtos.TypingRequest typingRequest) {
@@ -30,7 +41,7 @@ public class WebSocketService {
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
         
-        messagingTemplate.convertAndSend("/topic/conversations/" + conversationId + "/typing", message);
+        relay.send("/topic/conversations/" + conversationId + "/typing", message);
     }
 
     public void sendReadReceipt(Long conversationId, MessagingDtos.MarkAsReadRequest readRequest) {
@@ -42,7 +53,20 @@ public class WebSocketService {
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
         
-        messagingTemplate.convertAndSend("/topic/conversations/" + conversationId + "/read", message);
+        relay.send("/topic/conversations/" + conversationId + "/read", message);
+    }
+
+    public void sendUnreadCount(String username, Long conversationId, Integer unreadCount, Long totalUnreadCount) {
+        MessagingDtos.WebSocketMessage message = MessagingDtos.WebSocketMessage.builder()
+                .type("MESSAGE_UNREAD_COUNT")
+                .data(java.util.Map.of(
+                        "conversationId", conversationId,
+                        "unreadCount", unreadCount,
+                        "totalUnreadCount", totalUnreadCount))
+                .conversationId(conversationId)
+                .timestamp(java.time.LocalDateTime.now())
+                .build();
+        relay.sendToUser(username, "/queue/messages", message);
     }
 
     public void sendErrorToUser(String username, String errorMessage) {
@@ -52,7 +76,15 @@ public class WebSocketService {
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
         
-        messagingTemplate.convertAndSendToUser(username, "/queue/errors", errorMessageObj);
+        relay.sendToUser(username, "/queue/errors", errorMessageObj);
+    }
+
+    public void sendErrorToUser(String username, MessagingDtos.WebSocketMessage errorMessage) {
+        relay.sendToUser(username, "/queue/errors", errorMessage);
+    }
+
+    public void sendUserPostUpdate(Long authorId, Object update) {
+        relay.send("/topic/users/" + authorId + "/posts", update);
     }
 
     public void notifyConversationUpdate(Long conversationId, String updateType, Object data) {
@@ -63,7 +95,7 @@ public class WebSocketService {
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
         
-        messagingTemplate.convertAndSend("/topic/conversations/" + conversationId + "/updates", message);
+        relay.send("/topic/conversations/" + conversationId + "/updates", message);
     }
 
     public void sendNotificationToUser(String username, NotificationResponse notification) {
@@ -72,7 +104,20 @@ public class WebSocketService {
                 .data(notification)
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
-        messagingTemplate.convertAndSendToUser(username, "/queue/notifications", ws);
+        relay.sendToUser(username, "/queue/notifications", ws);
+    }
+
+    public void sendNotificationBatch(String username, java.util.List<NotificationResponse> notifications,
+                                      Long unreadCount, boolean truncated) {
+        MessagingDtos.WebSocketMessage ws = MessagingDtos.WebSocketMessage.builder()
+                .type("NOTIFICATION_BATCH")
+                .data(java.util.Map.of(
+                        "notifications", notifications,
+                        "unreadCount", unreadCount,
+                        "truncated", truncated))
+                .timestamp(java.time.LocalDateTime.now())
+                .build();
+        relay.sendToUser(username, "/queue/notifications", ws);
     }
 
     public void sendNotificationUnreadCount(String username, Long unreadCount) {
@@ -81,6 +126,6 @@ public class WebSocketService {
                 .data(java.util.Map.of("unreadCount", unreadCount))
                 .timestamp(java.time.LocalDateTime.now())
                 .build();
-        messagingTemplate.convertAndSendToUser(username, "/queue/notifications", ws);
+        relay.sendToUser(username, "/queue/notifications", ws);
     }
 }
@@ -15,7 +15,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +41,7 @@ public class GroupServiceImpl implements GroupService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         Community group = groupMapper.toEntity(request, owner);
+        group.setMemberCount(1);
         Community savedGroup = communityRepository.save(group);
 
         GroupMemberId memberId = new GroupMemberId(savedGroup.getId(), ownerId);
@@ -91,10 +96,9 @@ public class GroupServiceImpl implements GroupService {
         boolean isOwner = group.getOwner().getId().equals(currentUserId);
         boolean isModerator = groupMemberRepository.existsByGroupIdAndUserIdAndRole(
                 groupId, currentUserId, GroupMemberRole.moderator);
-        int memberCount = groupMemberRepository.countByGroupId(groupId);
         GroupMemberRole userRole = getUserRole(groupId, currentUserId);
 
-        return groupMapper.toResponse(updatedGroup, currentUserId, isMember, isOwner, isModerator, false, userRole, memberCount);
+        return groupMapper.toResponse(updatedGroup, currentUserId, isMember, isOwner, isModerator, false, userRole, updatedGroup.getMemberCount());
     }
 
     @Override
@@ -126,10 +130,9 @@ public class GroupServiceImpl implements GroupService {
                 groupId, currentUserId, GroupMemberRole.moderator);
         boolean hasPendingRequest = currentUserId != null && 
                 groupJoinRequestRepository.existsByGroupIdAndUserIdAndStatus(groupId, currentUserId, GroupJoinRequestStatus.pending);
-        int memberCount = groupMemberRepository.countByGroupId(groupId);
         GroupMemberRole userRole = currentUserId != null ? getUserRole(groupId, currentUserId) : null;
 
-        return groupMapper.toResponse(group, currentUserId, isMember, isOwner, isModerator, hasPendingRequest, userRole, memberCount);
+        return groupMapper.toResponse(group, currentUserId, isMember, isOwner, isModerator, hasPendingRequest, userRole, group.getMemberCount());
     }
 
     @Override
@@ -137,20 +140,7 @@ public class GroupServiceImpl implements GroupService {
     public GroupDtos.GroupListResponse getAllGroups(Pageable pageable, Long currentUserId) {
         Page<Community> groupPage = communityRepository.findAllActiveCommunities(pageable);
         
-        List<GroupDtos.GroupResponse> groups = groupPage.getContent().stream()
-                .map(group -> {
-                    boolean isMember = currentUserId != null && groupMemberRepository.existsByGroupIdAndUserId(group.getId(), currentUserId);
-                    boolean isOwner = currentUserId != null && group.getOwner().getId().equals(currentUserId);
-                    boolean isModerator = currentUserId != null && groupMemberRepository.existsByGroupIdAndUserIdAndRole(
-                            group.getId(), currentUserId, GroupMemberRole.moderator);
-                    boolean hasPendingRequest = currentUserId != null && 
-                            groupJoinRequestRepository.existsByGroupIdAndUserIdAndStatus(group.getId(), currentUserId, GroupJoinRequestStatus.pending);
-                    int memberCount = groupMemberRepository.countByGroupId(group.getId());
-                    GroupMemberRole userRole = currentUserId != null ? getUserRole(group.getId(), currentUserId) : null;
-                    
-                    return groupMapper.toResponse(group, currentUserId, isMember, isOwner, isModerator, hasPendingRequest, userRole, memberCount);
-                })
-                .collect(Collectors.toList());
+        List<GroupDtos.GroupResponse> groups = toGroupResponses(groupPage.getContent(), currentUserId);
 
         return GroupDtos.GroupListResponse.builder()
                 .groups(groups)
@@ -169,10 +159,7 @@ public class GroupServiceImpl implements GroupService {
         Page<Community> groupPage = communityRepository.findByOwnerId(ownerId, pageable);
         
         List<GroupDtos.GroupResponse> groups = groupPage.getContent().stream()
-                .map(group -> {
-                    int memberCount = groupMemberRepository.countByGroupId(group.getId());
-                    return groupMapper.toResponse(group, ownerId, true, true, false, false, GroupMemberRole.admin, memberCount);
-                })
+                .map(group -> groupMapper.toResponse(group, ownerId, true, true, false, false, GroupMemberRole.admin, group.getMemberCount()))
                 .collect(Collectors.toList());
 
         return GroupDtos.GroupListResponse.builder()
@@ -196,10 +183,9 @@ public class GroupServiceImpl implements GroupService {
                     Community group = member.getGroup();
                     boolean isOwner = group.getOwner().getId().equals(userId);
                     boolean isModerator = member.getRole() == GroupMemberRole.moderator;
-                    int memberCount = groupMemberRepository.countByGroupId(group.getId());
                     GroupMemberRole userRole = member.getRole();
                     
-                    return groupMapper.toResponse(group, userId, true, isOwner, isModerator, false, userRole, memberCount);
+                    return groupMapper.toResponse(group, userId, true, isOwner, isModerator, false, userRole, group.getMemberCount());
                 })
                 .collect(Collectors.toList());
 
@@ -247,6 +233,7 @@ public class GroupServiceImpl implements GroupService {
                 .joinedAt(LocalDateTime.now())
                 .build();
         groupMemberRepository.save(member);
+        communityRepository.adjustMemberCount(groupId, 1);
 
         return GroupDtos.JoinResponse.builder()
                 .groupId(groupId)
@@ -270,7 +257,9 @@ public class GroupServiceImpl implements GroupService {
             throw new IllegalArgumentException("Not a member of this group");
         }
 
-        groupMemberRepository.deleteByGroupIdAndUserId(groupId, userId);
+        if (groupMemberRepository.deleteByGroupIdAndUserId(groupId, userId) > 0) {
+            communityRepository.adjustMemberCount(groupId, -1);
+        }
 
         return GroupDtos.LeaveResponse.builder()
                 .groupId(groupId)
@@ -349,7 +338,9 @@ public class GroupServiceImpl implements GroupService {
             throw new IllegalArgumentException("User is not a member of this group");
         }
 
-        groupMemberRepository.deleteByGroupIdAndUserId(groupId, targetUserId);
+        if (groupMemberRepository.deleteByGroupIdAndUserId(groupId, targetUserId) > 0) {
+            communityRepository.adjustMemberCount(groupId, -1);
+        }
     }
 
     @Override
@@ -538,6 +529,7 @@ public class GroupServiceImpl implements GroupService {
                     .joinedAt(LocalDateTime.now())
                     .build();
             groupMemberRepository.save(member);
+            communityRepository.adjustMemberCount(group.getId(), 1);
         } else {
             joinRequest.setStatus(GroupJoinRequestStatus.rejected);
         }
@@ -590,6 +582,29 @@ public class GroupServiceImpl implements GroupService {
         groupJoinRequestRepository.delete(joinRequest);
     }
 
+    private List<GroupDtos.GroupResponse> toGroupResponses(List<Community> groups, Long currentUserId) {
+        List<Long> groupIds = groups.stream().map(Community::getId).collect(Collectors.toList());
+        Map<Long, GroupMemberRole> roles = new HashMap<>();
+        Set<Long> pendingGroupIds = new HashSet<>();
+        if (currentUserId != null && !groupIds.isEmpty()) {
+            for (Object[] row : groupMemberRepository.findRolesByUserIdAndGroupIds(currentUserId, groupIds)) {
+                roles.put((Long) row[0], (GroupMemberRole) row[1]);
+            }
+            pendingGroupIds.addAll(groupJoinRequestRepository.findGroupIdsByUserIdAndStatus(
+                    currentUserId, GroupJoinRequestStatus.pending, groupIds));
+        }
+
+        return groups.stream()
+                .map(group -> {
+                    GroupMemberRole userRole = roles.get(group.getId());
+                    boolean isOwner = currentUserId != null && group.getOwner().getId().equals(currentUserId);
+                    return groupMapper.toResponse(group, currentUserId, userRole != null, isOwner,
+                            userRole == GroupMemberRole.moderator, pendingGroupIds.contains(group.getId()),
+                            userRole, group.getMemberCount());
+                })
+                .collect(Collectors.toList());
+    }
+
     private GroupMemberRole getUserRole(Long groupId, Long userId) {
         return groupMemberRepository.findByGroupIdAndUserId(groupId, userId)
                 .map(GroupMember::getRole)
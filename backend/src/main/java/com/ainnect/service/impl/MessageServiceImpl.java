@@ -1,23 +1,37 @@
 package com.ainnect.service.impl;
 
+import com.ainnect.common.AfterCommit;
 import com.ainnect.common.enums.ConversationMemberRole;
 import com.ainnect.common.enums.ConversationType;
-import com.ainnect.common.enums.MessageType;
 import com.ainnect.dto.messaging.MessagingDtos;
 import com.ainnect.entity.*;
 import com.ainnect.repository.*;
+import com.ainnect.service.DirectConversationRegistry;
+import com.ainnect.service.MessageDeliveryExecutor;
+import com.ainnect.service.MessagePageAssembler;
+import com.ainnect.service.MessageSearchIndex;
 import com.ainnect.service.MessageService;
+import com.ainnect.service.MessageWriteBatcher;
+import com.ainnect.service.PresenceService;
+import com.ainnect.service.ReadReceiptCoalescer;
 import com.ainnect.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,20 +39,32 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MessageServiceImpl implements MessageService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+    private static final LocalDateTime CURSOR_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime CURSOR_MAX = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final ConversationRepository conversationRepository;
     private final ConversationMemberRepository conversationMemberRepository;
     private final MessageRepository messageRepository;
-    private final MessageAttachmentRepository messageAttachmentRepository;
     private final UserRepository userRepository;
     private final WebSocketService webSocketService;
     private final MessageReactionRepository messageReactionRepository;
+    private final MessagePageAssembler messagePageAssembler;
+    private final MessageWriteBatcher messageWriteBatcher;
+    private final MessageDeliveryExecutor messageDeliveryExecutor;
+    private final PresenceService presenceService;
+    private final ReadReceiptCoalescer readReceiptCoalescer;
+    private final MessageSearchIndex messageSearchIndex;
+    private final DirectConversationRegistry directConversationRegistry;
 
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public MessagingDtos.ConversationResponse createConversation(MessagingDtos.CreateConversationRequest request, Long creatorId) {
         User creator = userRepository.findById(creatorId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
+        Conversation savedConversation;
         if (request.getType() == ConversationType.direct) {
             if (request.getParticipantIds() == null || request.getParticipantIds().isEmpty()) {
                 throw new IllegalArgumentException("Direct conversation requires one participant");
@@ -47,13 +73,46 @@ public class MessageServiceImpl implements MessageService {
             if (otherUserId.equals(creatorId)) {
                 throw new IllegalArgumentException("Cannot create direct conversation with yourself");
             }
-            List<Conversation> existingList = conversationRepository.findDirectConversationBetweenUsers(
-                    creatorId, otherUserId, org.springframework.data.domain.PageRequest.of(0, 1));
-            if (!existingList.isEmpty()) {
-                return toConversationResponse(existingList.get(0), creatorId);
+            Long[] createdId = {null};
+            savedConversation = directConversationRegistry.getOrCreate(creatorId, otherUserId, () -> {
+                Conversation created = persistConversation(request, creator, List.of(otherUserId));
+                createdId[0] = created.getId();
+                return created;
+            });
+            if (!savedConversation.getId().equals(createdId[0])) {
+                rejoinDirectConversation(savedConversation, creator);
+                return toConversationResponse(savedConversation, creatorId);
             }
+        } else {
+            savedConversation = persistConversation(request, creator, request.getParticipantIds());
         }
 
+        MessagingDtos.ConversationResponse response = toConversationResponse(savedConversation, creatorId);
+
+        try {
+            MessagingDtos.WebSocketMessage wsMessage = MessagingDtos.WebSocketMessage.builder()
+                    .type("NEW_CONVERSATION")
+                    .data(response)
+                    .conversationId(savedConversation.getId())
+                    .senderId(creatorId)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            
+            webSocketService.sendMessageToConversation(savedConversation.getId(), wsMessage);
+        } catch (Exception e) {
+            log.error("Failed to send WebSocket notification for new conversation: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Saves the conversation with its creator as admin and the given
+     * participants as members. Direct conversations also get their pair key.
+     */
+    private Conversation persistConversation(MessagingDtos.CreateConversationRequest request, User creator,
+                                             List<Long> participantIds) {
+        Long creatorId = creator.getId();
         Conversation conversation = Conversation.builder()
                 .type(request.getType())
                 .title(request.getTitle())
@@ -61,6 +120,11 @@ public class MessageServiceImpl implements MessageService {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+        if (request.getType() == ConversationType.direct) {
+            Long otherUserId = participantIds.get(0);
+            conversation.setDirectUserLow(DirectConversationRegistry.low(creatorId, otherUserId));
+            conversation.setDirectUserHigh(DirectConversationRegistry.high(creatorId, otherUserId));
+        }
 
         Conversation savedConversation = conversationRepository.save(conversation);
 
@@ -74,9 +138,10 @@ public class MessageServiceImpl implements MessageService {
                 .build();
 
         conversationMemberRepository.save(creatorMember);
+        int memberCount = 1;
 
-        if (request.getParticipantIds() != null && !request.getParticipantIds().isEmpty()) {
-            List<Long> uniqueIds = request.getParticipantIds().stream().distinct().collect(Collectors.toList());
+        if (participantIds != null && !participantIds.isEmpty()) {
+            List<Long> uniqueIds = participantIds.stream().distinct().collect(Collectors.toList());
             for (Long participantId : uniqueIds) {
                 if (!participantId.equals(creatorId)) {
                     User participant = userRepository.findById(participantId)
@@ -93,28 +158,32 @@ public class MessageServiceImpl implements MessageService {
                                 .build();
 
                         conversationMemberRepository.save(member);
+                        memberCount++;
                     }
                 }
             }
         }
+        savedConversation.setMemberCount(memberCount);
+        return savedConversation;
+    }
 
-        MessagingDtos.ConversationResponse response = toConversationResponse(savedConversation, creatorId);
-
-        try {
-            MessagingDtos.WebSocketMessage wsMessage = MessagingDtos.WebSocketMessage.builder()
-                    .type("NEW_CONVERSATION")
-                    .data(response)
-                    .conversationId(savedConversation.getId())
-                    .senderId(creatorId)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-            
-            webSocketService.sendMessageToConversation(savedConversation.getId(), wsMessage);
-        } catch (Exception e) {
-            log.error("Failed to send WebSocket notification for new conversation: {}", e.getMessage());
+    /**
+     * A direct conversation is unique per pair, so a participant who left it
+     * is added back instead of getting a new one.
+     */
+    private void rejoinDirectConversation(Conversation conversation, User user) {
+        if (isMember(conversation.getId(), user.getId())) {
+            return;
         }
-
-        return response;
+        conversationMemberRepository.save(ConversationMember.builder()
+                .id(new ConversationMemberId(conversation.getId(), user.getId()))
+                .conversation(conversation)
+                .user(user)
+                .role(ConversationMemberRole.member)
+                .joinedAt(LocalDateTime.now())
+                .lastReadMessageId(conversation.getLastMessageId())
+                .build());
+        conversationRepository.adjustMemberCount(conversation.getId(), 1);
     }
 
     @Override
@@ -132,9 +201,7 @@ public class MessageServiceImpl implements MessageService {
     @Override
     public MessagingDtos.ConversationListResponse getUserConversations(Long userId, Pageable pageable) {
         Page<Conversation> conversationPage = conversationRepository.findByUserIdOrderByUpdatedAtDesc(userId, pageable);
-        List<MessagingDtos.ConversationResponse> conversations = conversationPage.getContent().stream()
-                .map(conversation -> toConversationResponse(conversation, userId))
-                .collect(Collectors.toList());
+        List<MessagingDtos.ConversationResponse> conversations = toConversationResponses(conversationPage.getContent(), userId);
 
         return MessagingDtos.ConversationListResponse.builder()
                 .conversations(conversations)
@@ -147,6 +214,34 @@ public class MessageServiceImpl implements MessageService {
                 .build();
     }
 
+    @Override
+    public MessagingDtos.ConversationCursorResponse getConversationInbox(Long userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        LocalDateTime beforeAt = CURSOR_MAX;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = cursor.split(":", 2);
+                beforeAt = CURSOR_EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+                beforeId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<Conversation> rows = conversationRepository.findInboxPage(userId, beforeAt, beforeId,
+                org.springframework.data.domain.PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<Conversation> page = hasMore ? rows.subList(0, limit) : rows;
+        Conversation last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return MessagingDtos.ConversationCursorResponse.builder()
+                .conversations(toConversationResponses(page, userId))
+                .nextCursor(hasMore ? ChronoUnit.MICROS.between(CURSOR_EPOCH, last.getUpdatedAt()) + ":" + last.getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     public MessagingDtos.ConversationListResponse getDirectConversations(Long userId, Pageable pageable) {
         List<Conversation> conversations = conversationRepository.findByTypeAndUserId(ConversationType.direct, userId);
@@ -155,9 +250,7 @@ public class MessageServiceImpl implements MessageService {
         int end = Math.min(start + pageable.getPageSize(), conversations.size());
         List<Conversation> pageConversations = conversations.subList(start, end);
 
-        List<MessagingDtos.ConversationResponse> conversationResponses = pageConversations.stream()
-                .map(conversation -> toConversationResponse(conversation, userId))
-                .collect(Collectors.toList());
+        List<MessagingDtos.ConversationResponse> conversationResponses = toConversationResponses(pageConversations, userId);
 
         return MessagingDtos.ConversationListResponse.builder()
                 .conversations(conversationResponses)
@@ -178,9 +271,7 @@ public class MessageServiceImpl implements MessageService {
         int end = Math.min(start + pageable.getPageSize(), conversations.size());
         List<Conversation> pageConversations = conversations.subList(start, end);
 
-        List<MessagingDtos.ConversationResponse> conversationResponses = pageConversations.stream()
-                .map(conversation -> toConversationResponse(conversation, userId))
-                .collect(Collectors.toList());
+        List<MessagingDtos.ConversationResponse> conversationResponses = toConversationResponses(pageConversations, userId);
 
         return MessagingDtos.ConversationListResponse.builder()
                 .conversations(conversationResponses)
@@ -207,52 +298,25 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
-    @Transactional
     public MessagingDtos.MessageResponse sendMessage(MessagingDtos.SendMessageRequest request, Long senderId) {
-        Conversation conversation = conversationRepository.findById(request.getConversationId())
-                .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
-
-        if (!isMember(request.getConversationId(), senderId)) {
-            throw new IllegalArgumentException("You are not a member of this conversation");
-        }
-
-        User sender = userRepository.findById(senderId)
-                .orElseThrow(() -> new IllegalArgumentException("Sender not found"));
-
-        Message message = Message.builder()
-                .conversation(conversation)
-                .sender(sender)
-                .content(request.getContent())
-                .messageType(request.getMessageType() != null ? request.getMessageType() : MessageType.text)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        if (request.getReplyToMessageId() != null) {
-            Message parent = messageRepository.findByIdAndDeletedAtIsNull(request.getReplyToMessageId())
-                    .orElseThrow(() -> new IllegalArgumentException("Parent message not found"));
-            if (!parent.getConversation().getId().equals(request.getConversationId())) {
-                throw new IllegalArgumentException("Parent message does not belong to this conversation");
-            }
-            message.setParent(parent);
-        }
-
-        Message savedMessage = messageRepository.save(message);
+        return afterWrite(request, senderId, messageWriteBatcher.write(request, senderId));
+    }
 
-        if (request.getAttachmentUrls() != null && !request.getAttachmentUrls().isEmpty()) {
-            for (String attachmentUrl : request.getAttachmentUrls()) {
-                MessageAttachment attachment = MessageAttachment.builder()
-                        .message(savedMessage)
-                        .fileUrl(attachmentUrl)
-                        .createdAt(LocalDateTime.now())
-                        .build();
+    @Override
+    public CompletableFuture<MessagingDtos.MessageResponse> sendMessageAsync(MessagingDtos.SendMessageRequest request, Long senderId) {
+        return messageWriteBatcher.submit(request, senderId)
+                .thenApplyAsync(written -> afterWrite(request, senderId, written),
+                        messageDeliveryExecutor.forConversation(request.getConversationId()));
+    }
 
-                messageAttachmentRepository.save(attachment);
-            }
+    private MessagingDtos.MessageResponse afterWrite(MessagingDtos.SendMessageRequest request, Long senderId,
+                                                     MessageWriteBatcher.Written written) {
+        Message savedMessage = written.message();
+        if (written.batchTail()) {
+            sendUnreadBadges(request.getConversationId(),
+                    () -> conversationMemberRepository.findUnreadBadges(request.getConversationId(), senderId));
         }
 
-        conversation.setUpdatedAt(LocalDateTime.now());
-        conversationRepository.save(conversation);
-
         MessagingDtos.MessageResponse messageResponse = toMessageResponse(savedMessage, senderId);
 
         try {
@@ -279,9 +343,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         Page<Message> messagePage = messageRepository.findByConversationIdOrderByCreatedAtDesc(conversationId, pageable);
-        List<MessagingDtos.MessageResponse> messages = messagePage.getContent().stream()
-                .map(message -> toMessageResponseWithReactions(message, userId))
-                .collect(Collectors.toList());
+        List<MessagingDtos.MessageResponse> messages = messagePageAssembler.assemble(messagePage.getContent(), userId, true);
 
         return MessagingDtos.MessageListResponse.builder()
                 .messages(messages)
@@ -294,6 +356,31 @@ public class MessageServiceImpl implements MessageService {
                 .build();
     }
 
+    @Override
+    public MessagingDtos.MessageCursorResponse getMessagesBefore(Long conversationId, Long userId, Long beforeId, int size) {
+        if (!isMember(conversationId, userId)) {
+            throw new IllegalArgumentException("You are not a member of this conversation");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        List<Message> rows = messageRepository.findPageBefore(conversationId, beforeId != null ? beforeId : Long.MAX_VALUE,
+                org.springframework.data.domain.PageRequest.of(0, limit + 1));
+        return toMessageCursorResponse(rows, limit, userId);
+    }
+
+    @Override
+    public MessagingDtos.MessageCursorResponse getMessagesAfter(Long conversationId, Long userId, Long afterId, int size) {
+        if (afterId == null) {
+            throw new IllegalArgumentException("Message id is required");
+        }
+        if (!isMember(conversationId, userId)) {
+            throw new IllegalArgumentException("You are not a member of this conversation");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        List<Message> rows = messageRepository.findPageAfter(conversationId, afterId,
+                org.springframework.data.domain.PageRequest.of(0, limit + 1));
+        return toMessageCursorResponse(rows, limit, userId);
+    }
+
     @Override
     public MessagingDtos.MessageResponse getMessageById(Long messageId, Long userId) {
         Message message = messageRepository.findByIdAndDeletedAtIsNull(messageId)
@@ -303,7 +390,7 @@ public class MessageServiceImpl implements MessageService {
             throw new IllegalArgumentException("You are not a member of this conversation");
         }
 
-        return toMessageResponseWithReactions(message, userId);
+        return messagePageAssembler.assemble(message, userId, true);
     }
 
     @Override
@@ -338,11 +425,7 @@ public class MessageServiceImpl implements MessageService {
 
         java.util.Map<String, Object> payload = new java.util.HashMap<>();
         payload.put("messageId", messageId);
-        java.util.Map<String, Long> counts = new java.util.HashMap<>();
-        for (var rt : com.ainnect.common.enums.ReactionType.values()) {
-            counts.put(rt.name(), messageReactionRepository.countByMessageIdAndType(messageId, rt));
-        }
-        payload.put("reactionCounts", counts);
+        payload.put("reactionCounts", messagePageAssembler.reactionCounts(messageId));
         payload.put("userId", userId);
         payload.put("currentUserReaction", reactionType.name());
 
@@ -369,11 +452,7 @@ public class MessageServiceImpl implements MessageService {
 
             java.util.Map<String, Object> payload = new java.util.HashMap<>();
             payload.put("messageId", messageId);
-            java.util.Map<String, Long> counts = new java.util.HashMap<>();
-            for (var rt : com.ainnect.common.enums.ReactionType.values()) {
-                counts.put(rt.name(), messageReactionRepository.countByMessageIdAndType(messageId, rt));
-            }
-            payload.put("reactionCounts", counts);
+            payload.put("reactionCounts", messagePageAssembler.reactionCounts(messageId));
             payload.put("userId", userId);
             payload.put("currentUserReaction", null);
 
@@ -402,6 +481,7 @@ public class MessageServiceImpl implements MessageService {
 
         message.setContent(newContent);
         Message updatedMessage = messageRepository.save(message);
+        messageSearchIndex.reindex(updatedMessage);
 
         return toMessageResponse(updatedMessage, userId);
     }
@@ -418,6 +498,25 @@ public class MessageServiceImpl implements MessageService {
 
         message.setDeletedAt(LocalDateTime.now());
         messageRepository.save(message);
+        messageSearchIndex.remove(message.getConversation().getId(), messageId);
+
+        Conversation conversation = message.getConversation();
+        if (messageId.equals(conversation.getLastMessageId())) {
+            Optional<Message> previous = messageRepository.findFirstByConversation_IdAndDeletedAtIsNullOrderByIdDesc(conversation.getId());
+            conversationRepository.replaceDeletedLastMessage(conversation.getId(), messageId,
+                    previous.map(Message::getId).orElse(null),
+                    previous.map(m -> m.getSender().getId()).orElse(null),
+                    previous.map(m -> MessageWriteBatcher.preview(m.getContent())).orElse(null),
+                    previous.map(Message::getMessageType).orElse(null),
+                    previous.map(Message::getCreatedAt).orElse(null));
+        }
+
+        Long conversationId = conversation.getId();
+        int affected = conversationMemberRepository.decrementUnreadCounts(conversationId, message.getSender().getId(),
+                messageId, message.getCreatedAt());
+        if (affected > 0) {
+            pushUnreadBadgesAfterCommit(conversationId, message.getSender().getId());
+        }
     }
 
     @Override
@@ -427,8 +526,11 @@ public class MessageServiceImpl implements MessageService {
         }
 
         Page<ConversationMember> memberPage = conversationMemberRepository.findByConversationId(conversationId, pageable);
+        Map<Long, PresenceService.Presence> presence = presenceService.getPresence(memberPage.getContent().stream()
+                .map(m -> m.getId().getUserId())
+                .toList());
         List<MessagingDtos.ConversationMemberResponse> members = memberPage.getContent().stream()
-                .map(this::toConversationMemberResponse)
+                .map(m -> toConversationMemberResponse(m, presence))
                 .collect(Collectors.toList());
 
         return MessagingDtos.ConversationMemberListResponse.builder()
@@ -452,7 +554,8 @@ public class MessageServiceImpl implements MessageService {
         Conversation conversation = conversationRepository.findById(request.getConversationId())
                 .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
 
-        for (Long memberId : request.getUserIds()) {
+        int added = 0;
+        for (Long memberId : request.getUserIds().stream().distinct().toList()) {
             if (!conversationMemberRepository.existsByConversationIdAndUserId(request.getConversationId(), memberId)) {
                 User member = userRepository.findById(memberId)
                         .orElseThrow(() -> new IllegalArgumentException("User not found: " + memberId));
@@ -464,11 +567,17 @@ public class MessageServiceImpl implements MessageService {
                         .user(member)
                         .role(ConversationMemberRole.member)
                         .joinedAt(LocalDateTime.now())
+                        // history from before joining is not unread
+                        .lastReadMessageId(conversation.getLastMessageId())
                         .build();
 
                 conversationMemberRepository.save(memberObj);
+                added++;
             }
         }
+        if (added > 0) {
+            conversationRepository.adjustMemberCount(request.getConversationId(), added);
+        }
 
         try {
             MessagingDtos.WebSocketMessage wsMessage = MessagingDtos.WebSocketMessage.builder()
@@ -492,7 +601,10 @@ public class MessageServiceImpl implements MessageService {
             throw new IllegalArgumentException("Only admins can remove members");
         }
 
-        conversationMemberRepository.deleteByConversationIdAndUserId(request.getConversationId(), request.getUserId());
+        int removed = conversationMemberRepository.deleteByConversationIdAndUserId(request.getConversationId(), request.getUserId());
+        if (removed > 0) {
+            conversationRepository.adjustMemberCount(request.getConversationId(), -removed);
+        }
     }
 
     @Override
@@ -516,48 +628,63 @@ public class MessageServiceImpl implements MessageService {
             throw new IllegalArgumentException("You are not a member of this conversation");
         }
 
-        conversationMemberRepository.deleteByConversationIdAndUserId(conversationId, userId);
+        int removed = conversationMemberRepository.deleteByConversationIdAndUserId(conversationId, userId);
+        if (removed > 0) {
+            conversationRepository.adjustMemberCount(conversationId, -removed);
+        }
     }
 
     @Override
-    @Transactional
     public void markAsRead(MessagingDtos.MarkAsReadRequest request, Long userId) {
-        ConversationMember member = conversationMemberRepository.findByConversationIdAndUserId(request.getConversationId(), userId)
-                .orElseThrow(() -> new IllegalArgumentException("You are not a member of this conversation"));
-
-        member.setLastReadMessageId(request.getMessageId());
-        conversationMemberRepository.save(member);
-
-        try {
-            webSocketService.sendReadReceipt(request.getConversationId(), request);
-        } catch (Exception e) {
-            log.error("Failed to send WebSocket read receipt notification: {}", e.getMessage());
+        if (request.getMessageId() == null) {
+            throw new IllegalArgumentException("Message id is required");
         }
+        // the write, the MESSAGE_READ frame and the badge update happen once per window
+        readReceiptCoalescer.markRead(request.getConversationId(), userId, request.getMessageId());
     }
 
     @Override
-    public int getUnreadCount(Long conversationId, Long userId) {
-        ConversationMember member = conversationMemberRepository.findByConversationIdAndUserId(conversationId, userId)
-                .orElse(null);
-
-        if (member == null || member.getLastReadMessageId() == null) {
-            return (int) messageRepository.countByConversationId(conversationId);
+    public MessagingDtos.MessageSearchResponse searchMessages(Long conversationId, Long userId, String query, Long beforeId, int size) {
+        if (!isMember(conversationId, userId)) {
+            throw new IllegalArgumentException("You are not a member of this conversation");
         }
+        Set<String> terms = MessageSearchIndex.queryTerms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        List<Long> ids = messageSearchIndex.search(conversationId, terms, beforeId, limit + 1);
+        boolean hasMore = ids.size() > limit;
+        List<Long> pageIds = hasMore ? ids.subList(0, limit) : ids;
+
+        List<Message> messages = pageIds.isEmpty() ? List.of()
+                : messageRepository.findActiveWithSenderAndParentByIdIn(pageIds).stream()
+                        .sorted(Comparator.comparing(Message::getId).reversed())
+                        .toList();
+        List<MessagingDtos.MessageResponse> responses = messagePageAssembler.assemble(messages, userId, false);
+        List<MessagingDtos.MessageSearchHit> hits = responses.stream()
+                .map(response -> MessagingDtos.MessageSearchHit.builder()
+                        .message(response)
+                        .highlights(MessageSearchIndex.highlights(response.getContent(), terms).stream()
+                                .map(range -> new MessagingDtos.HighlightRange(range[0], range[1]))
+                                .toList())
+                        .build())
+                .toList();
+        return MessagingDtos.MessageSearchResponse.builder()
+                .hits(hits)
+                .nextCursor(pageIds.isEmpty() ? null : pageIds.get(pageIds.size() - 1))
+                .hasMore(hasMore)
+                .build();
+    }
 
-        List<Message> unreadMessages = messageRepository.findUnreadMessages(conversationId, member.getLastReadMessageId());
-        return unreadMessages.size();
+    @Override
+    public int getUnreadCount(Long conversationId, Long userId) {
+        return conversationMemberRepository.findUnreadCount(conversationId, userId).orElse(0);
     }
 
     @Override
     public int getTotalUnreadCount(Long userId) {
-        List<Conversation> conversations = conversationRepository.findUserConversations(userId);
-        int totalUnread = 0;
-
-        for (Conversation conversation : conversations) {
-            totalUnread += getUnreadCount(conversation.getId(), userId);
-        }
-
-        return totalUnread;
+        return (int) conversationMemberRepository.sumUnreadCountByUserId(userId);
     }
 
     @Override
@@ -571,12 +698,11 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public MessagingDtos.ConversationResponse getOrCreateDirectConversation(Long userId1, Long userId2) {
-        List<Conversation> existingList = conversationRepository.findDirectConversationBetweenUsers(
-                userId1, userId2, org.springframework.data.domain.PageRequest.of(0, 1));
-        if (!existingList.isEmpty()) {
-            return toConversationResponse(existingList.get(0), userId1);
+        Optional<Conversation> existing = directConversationRegistry.find(userId1, userId2);
+        if (existing.isPresent() && isMember(existing.get().getId(), userId1)) {
+            return toConversationResponse(existing.get(), userId1);
         }
 
         MessagingDtos.CreateConversationRequest request = MessagingDtos.CreateConversationRequest.builder()
@@ -588,14 +714,39 @@ public class MessageServiceImpl implements MessageService {
     }
 
     private MessagingDtos.ConversationResponse toConversationResponse(Conversation conversation, Long currentUserId) {
-        int memberCount = (int) conversationMemberRepository.countByConversationId(conversation.getId());
-        int unreadCount = getUnreadCount(conversation.getId(), currentUserId);
-        
-        Optional<Message> lastMessage = messageRepository.findLatestMessageByConversationId(conversation.getId());
-        MessagingDtos.MessageResponse lastMessageResponse = lastMessage.map(message -> toMessageResponse(message, currentUserId)).orElse(null);
+        return toConversationResponses(List.of(conversation), currentUserId).get(0);
+    }
+
+    /**
+     * Builds list entries from the denormalized conversation columns plus one
+     * member lookup and one presence lookup for the whole page.
+     */
+    private List<MessagingDtos.ConversationResponse> toConversationResponses(List<Conversation> conversations, Long currentUserId) {
+        if (conversations.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ConversationMember>> membersByConversation = conversationMemberRepository
+                .findByConversationIdIn(conversations.stream().map(Conversation::getId).toList()).stream()
+                .collect(Collectors.groupingBy(m -> m.getId().getConversationId()));
+        Map<Long, PresenceService.Presence> presence = presenceService.getPresence(membersByConversation.values().stream()
+                .flatMap(List::stream)
+                .map(m -> m.getId().getUserId())
+                .collect(Collectors.toSet()));
+        return conversations.stream()
+                .map(conversation -> toConversationResponse(conversation, currentUserId,
+                        membersByConversation.getOrDefault(conversation.getId(), List.of()), presence))
+                .collect(Collectors.toList());
+    }
 
-        ConversationMember member = conversationMemberRepository.findByConversationIdAndUserId(conversation.getId(), currentUserId).orElse(null);
+    private MessagingDtos.ConversationResponse toConversationResponse(Conversation conversation, Long currentUserId,
+                                                                      List<ConversationMember> allMembers,
+                                                                      Map<Long, PresenceService.Presence> presence) {
+        ConversationMember member = allMembers.stream()
+                .filter(m -> m.getId().getUserId().equals(currentUserId))
+                .findFirst()
+                .orElse(null);
         ConversationMemberRole userRole = member != null ? member.getRole() : null;
+        int unreadCount = member != null ? member.getUnreadCount() : 0;
 
         MessagingDtos.ConversationResponse.ConversationResponseBuilder builder = MessagingDtos.ConversationResponse.builder()
                 .id(conversation.getId())
@@ -605,35 +756,34 @@ public class MessageServiceImpl implements MessageService {
                 .createdByUsername(conversation.getCreatedBy().getUsername())
                 .createdByDisplayName(conversation.getCreatedBy().getDisplayName())
                 .createdByAvatarUrl(conversation.getCreatedBy().getAvatarUrl())
-                .memberCount(memberCount)
+                .memberCount(conversation.getMemberCount())
                 .unreadCount(unreadCount)
-                .lastMessage(lastMessageResponse)
+                .lastMessage(toLastMessageResponse(conversation, member, allMembers))
                 .createdAt(conversation.getCreatedAt())
                 .updatedAt(conversation.getUpdatedAt())
-                .isMember(isMember(conversation.getId(), currentUserId))
+                .isMember(member != null)
                 .userRole(userRole);
 
         if (conversation.getType() == ConversationType.direct) {
-            List<ConversationMember> allMembers = conversationMemberRepository.findByConversationId(conversation.getId());
             Optional<ConversationMember> otherParticipant = allMembers.stream()
                     .filter(m -> !m.getUser().getId().equals(currentUserId))
                     .findFirst();
             
             if (otherParticipant.isPresent()) {
                 User otherUser = otherParticipant.get().getUser();
+                PresenceService.Presence otherPresence = presence.get(otherUser.getId());
                 builder.otherParticipantId(otherUser.getId())
                         .otherParticipantUsername(otherUser.getUsername())
                         .otherParticipantDisplayName(otherUser.getDisplayName())
                         .otherParticipantAvatarUrl(otherUser.getAvatarUrl())
-                        .otherParticipantIsOnline(false)
-                        .otherParticipantLastSeenAt(null);
+                        .otherParticipantIsOnline(otherPresence != null && otherPresence.online())
+                        .otherParticipantLastSeenAt(otherPresence != null ? otherPresence.lastSeenAt() : null);
             }
         }
         
         if (conversation.getType() == ConversationType.group) {
-            List<ConversationMember> allMembers = conversationMemberRepository.findByConversationId(conversation.getId());
             List<MessagingDtos.ConversationMemberResponse> memberResponses = allMembers.stream()
-                    .map(this::toConversationMemberResponse)
+                    .map(m -> toConversationMemberResponse(m, presence))
                     .collect(Collectors.toList());
             builder.members(memberResponses);
         }
@@ -641,73 +791,66 @@ public class MessageServiceImpl implements MessageService {
         return builder.build();
     }
 
-    private MessagingDtos.MessageResponse toMessageResponse(Message message, Long currentUserId) {
-        List<MessageAttachment> attachments = messageAttachmentRepository.findByMessageId(message.getId());
-        List<MessagingDtos.MessageAttachmentResponse> attachmentResponses = attachments.stream()
-                .map(this::toMessageAttachmentResponse)
-                .collect(Collectors.toList());
+    private MessagingDtos.MessageResponse toLastMessageResponse(Conversation conversation, ConversationMember viewer,
+                                                                List<ConversationMember> allMembers) {
+        if (conversation.getLastMessageId() == null) {
+            return null;
+        }
+        MessagingDtos.MessageResponse.MessageResponseBuilder builder = MessagingDtos.MessageResponse.builder()
+                .id(conversation.getLastMessageId())
+                .conversationId(conversation.getId())
+                .senderId(conversation.getLastMessageSenderId())
+                .content(conversation.getLastMessagePreview())
+                .messageType(conversation.getLastMessageType())
+                .createdAt(conversation.getLastMessageAt())
+                .isRead(viewer != null && viewer.getLastReadMessageId() != null
+                        && viewer.getLastReadMessageId() >= conversation.getLastMessageId());
+        allMembers.stream()
+                .filter(m -> m.getId().getUserId().equals(conversation.getLastMessageSenderId()))
+                .findFirst()
+                .map(ConversationMember::getUser)
+                .ifPresent(sender -> builder.senderUsername(sender.getUsername())
+                        .senderDisplayName(sender.getDisplayName())
+                        .senderAvatarUrl(sender.getAvatarUrl()));
+        return builder.build();
+    }
 
-        ConversationMember member = conversationMemberRepository.findByConversationIdAndUserId(message.getConversation().getId(), currentUserId).orElse(null);
-        boolean isRead = member != null && member.getLastReadMessageId() != null && member.getLastReadMessageId() >= message.getId();
-
-        MessagingDtos.MessageResponse resp = MessagingDtos.MessageResponse.builder()
-                .id(message.getId())
-                .conversationId(message.getConversation().getId())
-                .senderId(message.getSender().getId())
-                .senderUsername(message.getSender().getUsername())
-                .senderDisplayName(message.getSender().getDisplayName())
-                .senderAvatarUrl(message.getSender().getAvatarUrl())
-                .content(message.getContent())
-                .messageType(message.getMessageType())
-                .attachments(attachmentResponses)
-                .createdAt(message.getCreatedAt())
-                .deletedAt(message.getDeletedAt())
-                .isRead(isRead)
-                .isEdited(false) 
-                .editedAt(null)
-                .build();
+    private void pushUnreadBadgesAfterCommit(Long conversationId, Long excludeUserId) {
+        AfterCommit.run(() -> sendUnreadBadges(conversationId,
+                () -> conversationMemberRepository.findUnreadBadges(conversationId, excludeUserId)));
+    }
 
-        if (message.getParent() != null) {
-            Message parent = message.getParent();
-            MessagingDtos.ParentMessageInfo p = MessagingDtos.ParentMessageInfo.builder()
-                    .id(parent.getId())
-                    .senderId(parent.getSender().getId())
-                    .senderUsername(parent.getSender().getUsername())
-                    .contentPreview(parent.getContent() != null && parent.getContent().length() > 120 ? parent.getContent().substring(0, 120) : parent.getContent())
-                    .messageType(parent.getMessageType())
-                    .createdAt(parent.getCreatedAt())
-                    .build();
-            resp.setReplyTo(p);
+    private void sendUnreadBadges(Long conversationId, Supplier<List<Object[]>> badges) {
+        try {
+            for (Object[] badge : badges.get()) {
+                webSocketService.sendUnreadCount((String) badge[0], conversationId,
+                        (Integer) badge[1], ((Number) badge[2]).longValue());
+            }
+        } catch (Exception e) {
+            log.error("Failed to send WebSocket unread counts for conversation {}: {}", conversationId, e.getMessage());
         }
-        return resp;
     }
 
-    private MessagingDtos.MessageResponse toMessageResponseWithReactions(Message message, Long currentUserId) {
-        MessagingDtos.MessageResponse base = toMessageResponse(message, currentUserId);
-        java.util.Map<String, Long> counts = new java.util.HashMap<>();
-        for (var rt : com.ainnect.common.enums.ReactionType.values()) {
-            counts.put(rt.name(), messageReactionRepository.countByMessageIdAndType(message.getId(), rt));
-        }
-        var current = messageReactionRepository.findByMessageIdAndUserId(message.getId(), currentUserId)
-                .map(mr -> mr.getType().name())
-                .orElse(null);
-        base.setReactionCounts(counts);
-        base.setCurrentUserReaction(current);
-        return base;
-    }
-
-    private MessagingDtos.MessageAttachmentResponse toMessageAttachmentResponse(MessageAttachment attachment) {
-        return MessagingDtos.MessageAttachmentResponse.builder()
-                .id(attachment.getId())
-                .fileName(attachment.getFileName())
-                .fileUrl(attachment.getFileUrl())
-                .fileType(attachment.getFileType())
-                .fileSize(attachment.getFileSize())
-                .createdAt(attachment.getCreatedAt())
+    /**
+     * {@code rows} holds one extra row beyond {@code limit} when another page exists.
+     */
+    private MessagingDtos.MessageCursorResponse toMessageCursorResponse(List<Message> rows, int limit, Long currentUserId) {
+        boolean hasMore = rows.size() > limit;
+        List<Message> page = hasMore ? rows.subList(0, limit) : rows;
+        return MessagingDtos.MessageCursorResponse.builder()
+                .messages(messagePageAssembler.assemble(page, currentUserId, true))
+                .nextCursor(page.isEmpty() ? null : page.get(page.size() - 1).getId())
+                .hasMore(hasMore)
                 .build();
     }
 
-    private MessagingDtos.ConversationMemberResponse toConversationMemberResponse(ConversationMember member) {
+    private MessagingDtos.MessageResponse toMessageResponse(Message message, Long currentUserId) {
+        return messagePageAssembler.assemble(message, currentUserId, false);
+    }
+
+    private MessagingDtos.ConversationMemberResponse toConversationMemberResponse(ConversationMember member,
+                                                                                  Map<Long, PresenceService.Presence> presence) {
+        PresenceService.Presence memberPresence = presence.get(member.getUser().getId());
         return MessagingDtos.ConversationMemberResponse.builder()
                 .userId(member.getUser().getId())
                 .username(member.getUser().getUsername())
@@ -716,8 +859,8 @@ public class MessageServiceImpl implements MessageService {
                 .role(member.getRole())
                 .joinedAt(member.getJoinedAt())
                 .lastReadMessageId(member.getLastReadMessageId())
-                .isOnline(false) 
-                .lastSeenAt(null)
+                .isOnline(memberPresence != null && memberPresence.online())
+                .lastSeenAt(memberPresence != null ? memberPresence.lastSeenAt() : null)
                 .build();
     }
 }
@@ -1,28 +1,46 @@
 package com.ainnect.service.impl;
 
+import com.ainnect.common.AfterCommit;
 import com.ainnect.common.enums.NotificationType;
 import com.ainnect.dto.notification.NotificationCreateRequest;
+import com.ainnect.dto.notification.NotificationCursorResponse;
 import com.ainnect.dto.notification.NotificationResponse;
 import com.ainnect.dto.notification.NotificationStatsDto;
 import com.ainnect.dto.notification.NotificationSummaryDto;
 import com.ainnect.dto.user.UserBasicInfoDto;
 import com.ainnect.entity.Notification;
+import com.ainnect.entity.NotificationOutbox;
 import com.ainnect.entity.User;
 import com.ainnect.mapper.UserMapper;
+import com.ainnect.repository.NotificationActorRepository;
+import com.ainnect.repository.NotificationOutboxRepository;
 import com.ainnect.repository.NotificationRepository;
+import com.ainnect.repository.UserNotificationStatsRepository;
 import com.ainnect.repository.UserRepository;
+import com.ainnect.service.NotificationDedupFilter;
+import com.ainnect.service.NotificationPushCoalescer;
 import com.ainnect.service.NotificationService;
-import com.ainnect.service.WebSocketService;
+import com.ainnect.service.NotificationUnreadReconcileJob;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,10 +48,26 @@ import java.util.Optional;
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
     
+    private static final Set<NotificationType> AGGREGATED_TYPES = EnumSet.of(
+        NotificationType.LIKE, NotificationType.COMMENT, NotificationType.REPLY,
+        NotificationType.SHARE, NotificationType.GROUP_JOIN
+    );
+    private static final int MAX_RECENT_ACTORS = 3;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    // cursors never run ahead of now minus this, so rows from transactions
+    // still in flight when a sync runs are picked up by the next one
+    private static final long SYNC_LAG_SECONDS = 5;
+    private static final LocalDateTime CURSOR_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
     private final NotificationRepository notificationRepository;
+    private final NotificationActorRepository notificationActorRepository;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final UserNotificationStatsRepository userNotificationStatsRepository;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final WebSocketService webSocketService;
+    private final NotificationPushCoalescer notificationPushCoalescer;
+    private final NotificationDedupFilter notificationDedupFilter;
+    private final NotificationUnreadReconcileJob notificationUnreadReconcileJob;
     
     @Override
     public NotificationResponse createNotification(NotificationCreateRequest request) {
@@ -47,42 +81,134 @@ public class NotificationServiceImpl implements NotificationService {
         }
         
         // Check for duplicate notifications
-        if (actor != null && request.targetType() != null && request.targetId() != null) {
-            Optional<Notification> existing = notificationRepository.findDuplicateNotification(
-                recipient, actor, request.type(), request.targetType(), request.targetId()
-            );
-            if (existing.isPresent()) {
+        boolean targeted = actor != null && request.targetType() != null && request.targetId() != null;
+        if (targeted) {
+            User targetActor = actor;
+            Notification[] existing = new Notification[1];
+            boolean duplicate = notificationDedupFilter.isDuplicate(recipient.getId(), actor.getId(),
+                request.type(), request.targetType(), request.targetId(), () -> {
+                    existing[0] = notificationRepository.findDuplicateNotification(
+                        recipient, targetActor, request.type(), request.targetType(), request.targetId()
+                    ).orElse(null);
+                    return existing[0] != null;
+                });
+            if (duplicate) {
                 log.info("Duplicate notification found, skipping creation");
-                return convertToResponse(existing.get());
+                return convertToResponse(existing[0]);
             }
         }
         
-        Notification notification = Notification.builder()
-            .recipient(recipient)
-            .actor(actor)
-            .type(request.type())
-            .targetType(request.targetType())
-            .targetId(request.targetId())
-            .message(request.message())
-            .isRead(false)
-            .createdAt(LocalDateTime.now())
-            .build();
+        Notification notification = newNotification(recipient, actor, request);
+        if (targeted) {
+            notificationDedupFilter.record(recipient.getId(), actor.getId(),
+                request.type(), request.targetType(), request.targetId());
+        }
         
         Notification saved = notificationRepository.save(notification);
+        userNotificationStatsRepository.adjustUnreadCount(recipient.getId(), 1);
         log.info("Created notification: {} for user: {}", saved.getId(), recipient.getId());
         
         NotificationResponse response = convertToResponse(saved);
         try {
-            String recipientUsername = response.recipient().username();
-            webSocketService.sendNotificationToUser(recipientUsername, response);
-            Long unreadCount = notificationRepository.countUnreadByRecipient(recipient);
-            webSocketService.sendNotificationUnreadCount(recipientUsername, unreadCount);
+            notificationPushCoalescer.push(recipient.getId(), response.recipient().username(), response);
         } catch (Exception ex) {
             log.warn("Failed to push WS notification for user {}: {}", recipient.getId(), ex.getMessage());
         }
         return response;
     }
     
+    @Override
+    public List<NotificationResponse> createNotifications(List<NotificationCreateRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (NotificationCreateRequest request : requests) {
+            userIds.add(request.recipientId());
+            if (request.actorId() != null) {
+                userIds.add(request.actorId());
+            }
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        // one dispatcher at a time per recipient may find-or-create aggregates;
+        // ascending order keeps concurrent batches from deadlocking
+        requests.stream()
+            .filter(NotificationServiceImpl::isAggregated)
+            .map(NotificationCreateRequest::recipientId)
+            .distinct()
+            .sorted()
+            .forEach(userNotificationStatsRepository::lockUnreadCounter);
+
+        List<Notification> created = new ArrayList<>();
+        Set<Notification> touched = new LinkedHashSet<>();
+        Map<List<Object>, Notification> aggregates = new HashMap<>();
+        Set<List<Object>> seen = new HashSet<>();
+        for (NotificationCreateRequest request : requests) {
+            User recipient = users.get(request.recipientId());
+            User actor = request.actorId() != null ? users.get(request.actorId()) : null;
+            if (recipient == null || (request.actorId() != null && actor == null)) {
+                log.warn("Dropping notification {} for missing user(s) recipient={} actor={}",
+                    request.type(), request.recipientId(), request.actorId());
+                continue;
+            }
+            boolean targeted = actor != null && request.targetType() != null && request.targetId() != null;
+
+            if (isAggregated(request)) {
+                List<Object> key = List.of(recipient.getId(), request.type(), request.targetType(), request.targetId());
+                Notification aggregate = aggregates.get(key);
+                if (aggregate == null) {
+                    aggregate = notificationRepository.findFirstByRecipient_IdAndTypeAndTargetTypeAndTargetIdAndIsReadFalseOrderByIdDesc(
+                        recipient.getId(), request.type(), request.targetType(), request.targetId()).orElse(null);
+                    if (aggregate != null) {
+                        // aggregates written before actors were tracked only list their recent actors
+                        Long aggregateId = aggregate.getId();
+                        parseActorIds(aggregate.getRecentActorIds())
+                            .forEach(actorId -> notificationActorRepository.insertIfAbsent(aggregateId, actorId));
+                    }
+                }
+                if (aggregate == null) {
+                    aggregate = notificationRepository.save(newNotification(recipient, actor, request));
+                    notificationActorRepository.insertIfAbsent(aggregate.getId(), actor.getId());
+                    created.add(aggregate);
+                    touched.add(aggregate);
+                } else if (notificationActorRepository.insertIfAbsent(aggregate.getId(), actor.getId()) > 0) {
+                    addActor(aggregate, actor, request.message());
+                    touched.add(aggregate);
+                }
+                aggregates.put(key, aggregate);
+                continue;
+            }
+
+            if (targeted) {
+                List<Object> key = List.of(recipient.getId(), actor.getId(), request.type(),
+                    request.targetType(), request.targetId());
+                if (!seen.add(key) || notificationDedupFilter.isDuplicate(recipient.getId(), actor.getId(),
+                        request.type(), request.targetType(), request.targetId(),
+                        () -> notificationRepository.findDuplicateNotification(
+                            recipient, actor, request.type(), request.targetType(), request.targetId()).isPresent())) {
+                    continue;
+                }
+                notificationDedupFilter.record(recipient.getId(), actor.getId(),
+                    request.type(), request.targetType(), request.targetId());
+            }
+            Notification notification = newNotification(recipient, actor, request);
+            created.add(notification);
+            touched.add(notification);
+        }
+
+        notificationRepository.saveAll(created);
+        created.stream()
+            .collect(Collectors.groupingBy(n -> n.getRecipient().getId(), Collectors.counting()))
+            .forEach((recipientId, count) ->
+                userNotificationStatsRepository.adjustUnreadCount(recipientId, count.intValue()));
+        List<NotificationResponse> responses = touched.stream()
+            .map(this::convertToResponse)
+            .toList();
+        pushAfterCommit(responses);
+        return responses;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<NotificationResponse> getUserNotifications(Long userId, Pageable pageable) {
@@ -95,6 +221,62 @@ public class NotificationServiceImpl implements NotificationService {
         return notifications.map(this::convertToResponse);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationCursorResponse getInbox(Long userId, Long beforeId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<Notification> rows = notificationRepository.findInboxPage(userId, beforeId, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<Notification> page = hasMore ? rows.subList(0, limit) : rows;
+        Long nextBefore = hasMore ? page.get(page.size() - 1).getId() : null;
+        String syncCursor = beforeId == null ? encodeCursor(syncHorizon(), 0L) : null;
+        return new NotificationCursorResponse(
+            page.stream().map(this::convertToResponse).toList(),
+            nextBefore,
+            syncCursor,
+            hasMore,
+            unreadCount(userId)
+        );
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationCursorResponse getChangesSince(Long userId, String since, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String[] cursor = since.split(":", 2);
+        LocalDateTime sinceTime;
+        long afterId;
+        try {
+            sinceTime = CURSOR_EPOCH.plus(Long.parseLong(cursor[0]), ChronoUnit.MICROS);
+            afterId = cursor.length > 1 ? Long.parseLong(cursor[1]) : 0L;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid sync cursor");
+        }
+
+        List<Notification> rows = notificationRepository.findChangedSince(
+            userId, sinceTime, afterId, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<Notification> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor;
+        if (page.isEmpty()) {
+            nextCursor = since;
+        } else {
+            Notification last = page.get(page.size() - 1);
+            LocalDateTime horizon = syncHorizon();
+            nextCursor = hasMore || !last.getUpdatedAt().isAfter(horizon)
+                ? encodeCursor(last.getUpdatedAt(), last.getId())
+                : encodeCursor(horizon, 0L);
+        }
+        return new NotificationCursorResponse(
+            page.stream().map(this::convertToResponse).toList(),
+            null,
+            nextCursor,
+            hasMore,
+            unreadCount(userId)
+        );
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public NotificationStatsDto getNotificationStats(Long userId) {
@@ -102,7 +284,7 @@ public class NotificationServiceImpl implements NotificationService {
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
         Long totalCount = notificationRepository.countByRecipient(user);
-        Long unreadCount = notificationRepository.countUnreadByRecipient(user);
+        Long unreadCount = unreadCount(userId);
         Long todayCount = notificationRepository.countTodayByRecipient(user);
         
         return new NotificationStatsDto(totalCount, unreadCount, todayCount);
@@ -113,9 +295,16 @@ public class NotificationServiceImpl implements NotificationService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
-        int updated = notificationRepository.markAsReadByIdAndRecipient(
+        int updated = notificationRepository.markUnreadAsReadByIdAndRecipient(
             notificationId, user, LocalDateTime.now()
         );
+        if (updated > 0) {
+            userNotificationStatsRepository.adjustUnreadCount(userId, -updated);
+        } else {
+            updated = notificationRepository.markAsReadByIdAndRecipient(
+                notificationId, user, LocalDateTime.now()
+            );
+        }
         
         if (updated == 0) {
             throw new IllegalArgumentException("Notification not found or already read");
@@ -126,9 +315,7 @@ public class NotificationServiceImpl implements NotificationService {
         
         NotificationResponse response = convertToResponse(notification);
         try {
-            String username = response.recipient().username();
-            Long unreadCount = notificationRepository.countUnreadByRecipient(user);
-            webSocketService.sendNotificationUnreadCount(username, unreadCount);
+            notificationPushCoalescer.pushUnreadCount(userId, response.recipient().username());
         } catch (Exception ex) {
             log.warn("Failed to push unread count after markAsRead for user {}: {}", userId, ex.getMessage());
         }
@@ -141,13 +328,13 @@ public class NotificationServiceImpl implements NotificationService {
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
         int updated = notificationRepository.markAllAsReadByRecipient(user, LocalDateTime.now());
+        if (updated > 0) {
+            userNotificationStatsRepository.adjustUnreadCount(userId, -updated);
+        }
         log.info("Marked {} notifications as read for user: {}", updated, userId);
 
         try {
-            // Need username to send to specific user; fetch again to ensure username exists
-            String username = user.getUsername();
-            Long unreadCount = notificationRepository.countUnreadByRecipient(user);
-            webSocketService.sendNotificationUnreadCount(username, unreadCount);
+            notificationPushCoalescer.pushUnreadCount(userId, user.getUsername());
         } catch (Exception ex) {
             log.warn("Failed to push unread count after markAllAsRead for user {}: {}", userId, ex.getMessage());
         }
@@ -166,12 +353,13 @@ public class NotificationServiceImpl implements NotificationService {
         }
         
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            userNotificationStatsRepository.adjustUnreadCount(userId, -1);
+        }
         log.info("Deleted notification: {} for user: {}", notificationId, userId);
 
         try {
-            String username = user.getUsername();
-            Long unreadCount = notificationRepository.countUnreadByRecipient(user);
-            webSocketService.sendNotificationUnreadCount(username, unreadCount);
+            notificationPushCoalescer.pushUnreadCount(userId, user.getUsername());
         } catch (Exception ex) {
             log.warn("Failed to push unread count after delete for user {}: {}", userId, ex.getMessage());
         }
@@ -184,6 +372,9 @@ public class NotificationServiceImpl implements NotificationService {
         
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
         int deleted = notificationRepository.deleteOldNotifications(user, cutoffDate);
+        if (deleted > 0) {
+            userNotificationStatsRepository.recalculateUnreadCount(userId);
+        }
         log.info("Deleted {} old notifications for user: {}", deleted, userId);
     }
     
@@ -196,7 +387,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, notificationType, "POST", postId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -207,7 +398,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.COMMENT, "POST", postId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -218,7 +409,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.REPLY, "COMMENT", commentId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -229,7 +420,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.FOLLOW, null, null, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -240,7 +431,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.FRIEND_REQUEST, null, null, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -251,7 +442,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.FRIEND_ACCEPT, null, null, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -262,7 +453,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.MENTION, targetType, targetId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -273,7 +464,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.SHARE, "POST", postId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -284,7 +475,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.GROUP_INVITE, "GROUP", groupId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -295,7 +486,7 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, actorId, NotificationType.GROUP_JOIN, "GROUP", groupId, message
         );
-        createNotification(request);
+        enqueue(request);
     }
     
     @Override
@@ -303,7 +494,93 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationCreateRequest request = new NotificationCreateRequest(
             recipientId, null, NotificationType.SYSTEM, null, null, message
         );
-        createNotification(request);
+        enqueue(request);
+    }
+    
+    /**
+     * Records the intent in the caller's transaction; the outbox dispatcher
+     * resolves users, dedupes, inserts and pushes in the background.
+     */
+    private void enqueue(NotificationCreateRequest request) {
+        notificationOutboxRepository.save(NotificationOutbox.builder()
+            .recipientId(request.recipientId())
+            .actorId(request.actorId())
+            .type(request.type())
+            .targetType(request.targetType())
+            .targetId(request.targetId())
+            .message(request.message())
+            .build());
+    }
+    
+    private Notification newNotification(User recipient, User actor, NotificationCreateRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        return Notification.builder()
+            .recipient(recipient)
+            .actor(actor)
+            .type(request.type())
+            .targetType(request.targetType())
+            .targetId(request.targetId())
+            .message(request.message())
+            .actorCount(1)
+            .recentActorIds(actor != null ? String.valueOf(actor.getId()) : null)
+            .isRead(false)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+    
+    private static boolean isAggregated(NotificationCreateRequest request) {
+        return AGGREGATED_TYPES.contains(request.type()) && request.actorId() != null
+            && request.targetType() != null && request.targetId() != null;
+    }
+    
+    /**
+     * Folds an actor not yet counted into an unread aggregate; the caller
+     * checks that against {@code notification_actors}.
+     */
+    private void addActor(Notification aggregate, User actor, String baseMessage) {
+        List<Long> recent = parseActorIds(aggregate.getRecentActorIds());
+        recent.remove(actor.getId());
+        recent.add(0, actor.getId());
+        if (recent.size() > MAX_RECENT_ACTORS) {
+            recent = recent.subList(0, MAX_RECENT_ACTORS);
+        }
+        int actorCount = aggregate.getActorCount() == null ? 2 : aggregate.getActorCount() + 1;
+        aggregate.setActor(actor);
+        aggregate.setActorCount(actorCount);
+        aggregate.setUpdatedAt(LocalDateTime.now());
+        aggregate.setRecentActorIds(recent.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        aggregate.setMessage("and " + (actorCount - 1) + (actorCount == 2 ? " other " : " others ") + baseMessage);
+    }
+    
+    private static List<Long> parseActorIds(String csv) {
+        List<Long> ids = new ArrayList<>();
+        if (csv != null && !csv.isBlank()) {
+            for (String id : csv.split(",")) {
+                ids.add(Long.valueOf(id.trim()));
+            }
+        }
+        return ids;
+    }
+    
+    private void pushAfterCommit(List<NotificationResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> responses.forEach(n ->
+            notificationPushCoalescer.push(n.recipient().id(), n.recipient().username(), n)));
+    }
+    
+    private static LocalDateTime syncHorizon() {
+        return LocalDateTime.now().minusSeconds(SYNC_LAG_SECONDS);
+    }
+    
+    private static String encodeCursor(LocalDateTime time, Long id) {
+        return ChronoUnit.MICROS.between(CURSOR_EPOCH, time) + ":" + id;
+    }
+    
+    private Long unreadCount(Long userId) {
+        return notificationUnreadReconcileJob.unreadCount(userId);
     }
     
     private NotificationResponse convertToResponse(Notification notification) {
@@ -321,7 +598,9 @@ public class NotificationServiceImpl implements NotificationService {
             notification.getMessage(),
             notification.getIsRead(),
             notification.getCreatedAt(),
-            notification.getReadAt()
+            notification.getReadAt(),
+            notification.getActorCount() != null ? notification.getActorCount() : 1,
+            parseActorIds(notification.getRecentActorIds())
         );
     }
 }
@@ -1,6 +1,7 @@
 package com.ainnect.service.impl;
 
 import com.ainnect.common.enums.FriendshipStatus;
+import com.ainnect.common.enums.SuggestionType;
 import com.ainnect.dto.profile.EducationDtos;
 import com.ainnect.dto.profile.InterestDtos;
 import com.ainnect.dto.profile.LocationDtos;
@@ -11,8 +12,13 @@ import com.ainnect.repository.*;
 import com.ainnect.service.FileStorageService;
 import com.ainnect.service.ProfileService;
 import com.ainnect.service.SocialService;
+import com.ainnect.service.SuggestionDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Lazy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,6 +29,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,68 +53,230 @@ public class ProfileServiceImpl implements ProfileService {
     private final UserLocationRepository userLocationRepository;
     private final SocialService socialService;
     private final FileStorageService fileStorageService;
+    private final SuggestionDictionary suggestionDictionary;
+    private final UserBlockRepository userBlockRepository;
+
+    @Autowired
+    @Qualifier("profileLoaderExecutor")
+    private Executor profileLoaderExecutor;
+
+    @Lazy
+    @Autowired
+    private ProfileService self;
     
     @org.springframework.beans.factory.annotation.Value("${app.file.base-url:http://localhost:8080}")
     private String baseUrl;
 
+    @org.springframework.beans.factory.annotation.Value("${app.profile.load-timeout-ms:3000}")
+    private long profileLoadTimeoutMs;
+
+    private static final String SECTION_STATS = "stats";
+    private static final String SECTION_EDUCATIONS = "educations";
+    private static final String SECTION_WORK = "work";
+    private static final String SECTION_INTERESTS = "interests";
+    private static final String SECTION_LOCATIONS = "locations";
+    private static final String SECTION_POSTS = "posts";
+    private static final String SECTION_RELATIONSHIP = "relationship";
+    private static final Set<String> PROFILE_SECTIONS = Set.of(SECTION_STATS, SECTION_EDUCATIONS, SECTION_WORK,
+            SECTION_INTERESTS, SECTION_LOCATIONS, SECTION_POSTS, SECTION_RELATIONSHIP);
+
     @Override
-    @Cacheable(cacheNames = "profiles:user", key = "#userId + ':' + #currentUserId + ':' + #page + ':' + #size")
     public ProfileDtos.ProfileResponse getUserProfile(Long userId, Long currentUserId, int page, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        return assembleProfile(userId, currentUserId, page, size, PROFILE_SECTIONS);
+    }
 
-        boolean isBlocked = socialService.isBlocked(currentUserId, userId);
-        boolean isBlockedBy = socialService.isBlockedBy(currentUserId, userId);
+    @Override
+    public ProfileDtos.ProfileResponse getUserProfile(Long userId, Long currentUserId, int page, int size, Set<String> fields) {
+        Set<String> sections = fields == null || fields.isEmpty() ? PROFILE_SECTIONS : fields;
+        return assembleProfile(userId, currentUserId, page, size, sections);
+    }
 
-        if (isBlockedBy) {
-            throw new IllegalArgumentException("Cannot view profile - user is blocked");
+    /**
+     * Viewer-independent part of the profile: header, stats and the four
+     * profile sections. Cached per user and only stored when every section
+     * loaded within the deadline.
+     */
+    @Override
+    @Cacheable(cacheNames = "profiles:core", key = "#userId", unless = "#result == null || !#result.complete")
+    public ProfileDtos.ProfileCore getProfileCore(Long userId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(profileLoadTimeoutMs);
+
+        CompletableFuture<User> userFuture = load(() -> userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found")));
+        CompletableFuture<ProfileDtos.SocialStatsResponse> statsFuture = loadSocialStats(userId);
+        CompletableFuture<List<EducationDtos.Response>> educationsFuture = load(() -> getUserEducations(userId));
+        CompletableFuture<List<WorkExperienceDtos.Response>> workFuture = load(() -> getUserWorkExperiences(userId));
+        CompletableFuture<List<InterestDtos.Response>> interestsFuture = load(() -> getUserInterests(userId));
+        CompletableFuture<List<LocationDtos.Response>> locationsFuture = load(() -> getUserLocations(userId));
+
+        List<CompletableFuture<?>> pending = List.of(userFuture, statsFuture, educationsFuture, workFuture,
+                interestsFuture, locationsFuture);
+        try {
+            User user = await(userFuture, deadline, "user");
+            if (user == null) {
+                throw new IllegalStateException("Timed out loading profile");
+            }
+            ProfileDtos.SocialStatsResponse socialStats = await(statsFuture, deadline, SECTION_STATS);
+            List<EducationDtos.Response> educations = await(educationsFuture, deadline, SECTION_EDUCATIONS);
+            List<WorkExperienceDtos.Response> workExperiences = await(workFuture, deadline, SECTION_WORK);
+            List<InterestDtos.Response> interests = await(interestsFuture, deadline, SECTION_INTERESTS);
+            List<LocationDtos.Response> locations = await(locationsFuture, deadline, SECTION_LOCATIONS);
+            boolean complete = socialStats != null && educations != null && workExperiences != null
+                    && interests != null && locations != null;
+
+            return ProfileDtos.ProfileCore.builder()
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .displayName(user.getDisplayName())
+                    .bio(user.getBio())
+                    .avatarUrl(buildFileUrl(user.getAvatarUrl()))
+                    .coverUrl(buildFileUrl(user.getCoverUrl()))
+                    .location(user.getLocation())
+                    .joinedAt(user.getCreatedAt())
+                    .socialStats(socialStats)
+                    .educations(educations)
+                    .workExperiences(workExperiences)
+                    .interests(interests)
+                    .locations(locations)
+                    .complete(complete)
+                    .build();
+        } finally {
+            pending.forEach(future -> future.cancel(false));
         }
+    }
 
-        ProfileDtos.SocialStatsResponse socialStats = getUserSocialStats(userId, currentUserId);
+    /**
+     * Overlays the viewer-dependent relationship block and posts page on the
+     * cached profile core. Relationship and posts load concurrently with the
+     * core lookup.
+     */
+    private ProfileDtos.ProfileResponse assembleProfile(Long userId, Long currentUserId, int page, int size, Set<String> sections) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(profileLoadTimeoutMs);
+
+        CompletableFuture<RelationshipSnapshot> relationshipFuture = load(() -> loadRelationship(currentUserId, userId));
+        CompletableFuture<ProfileDtos.ProfilePostsResponse> postsFuture = loadIf(sections, SECTION_POSTS,
+                () -> loadVisiblePosts(userId, currentUserId, PageRequest.of(page, size)));
+        try {
+            ProfileDtos.ProfileCore core = self.getProfileCore(userId);
+            RelationshipSnapshot snapshot = await(relationshipFuture, deadline, SECTION_RELATIONSHIP);
+            if (snapshot == null) {
+                throw new IllegalStateException("Timed out loading profile");
+            }
+            if (snapshot.isBlockedBy()) {
+                throw new IllegalArgumentException("Cannot view profile - user is blocked");
+            }
 
-        List<EducationDtos.Response> educations = getUserEducations(userId);
-        List<WorkExperienceDtos.Response> workExperiences = getUserWorkExperiences(userId);
-        List<InterestDtos.Response> interests = getUserInterests(userId);
-        List<LocationDtos.Response> locations = getUserLocations(userId);
-        
-        Pageable pageable = PageRequest.of(page, size);
-        ProfileDtos.ProfilePostsResponse posts = getUserPosts(userId, currentUserId, pageable);
-
-        boolean isFollowing = socialService.isFollowing(currentUserId, userId);
-        boolean isFollowedBy = socialService.isFollowing(userId, currentUserId);
-        boolean isFriend = socialService.isFriend(currentUserId, userId);
-        boolean canSendFriendRequest = socialService.canSendFriendRequest(currentUserId, userId);
-        FriendshipStatus friendshipStatus = getFriendshipStatus(currentUserId, userId);
-
-        ProfileDtos.RelationshipResponse relationship = buildRelationshipResponse(
-                isFollowing, isFollowedBy, isFriend, canSendFriendRequest, 
-                friendshipStatus, isBlocked, isBlockedBy);
-
-        return ProfileDtos.ProfileResponse.builder()
-                .userId(user.getId())
-                .username(user.getUsername())
-                .displayName(user.getDisplayName())
-                .bio(user.getBio())
-                .avatarUrl(buildFileUrl(user.getAvatarUrl()))
-                .coverUrl(buildFileUrl(user.getCoverUrl()))
-                .location(user.getLocation())
-                .website(null)
-                .joinedAt(user.getCreatedAt())
-                .isVerified(false)
-                .isPrivate(false)
-                .relationship(relationship)
-                .socialStats(socialStats)
-                .educations(educations)
-                .workExperiences(workExperiences)
-                .interests(interests)
-                .locations(locations)
-                .posts(posts)
-                .build();
+            return ProfileDtos.ProfileResponse.builder()
+                    .userId(core.getUserId())
+                    .username(core.getUsername())
+                    .displayName(core.getDisplayName())
+                    .bio(core.getBio())
+                    .avatarUrl(core.getAvatarUrl())
+                    .coverUrl(core.getCoverUrl())
+                    .location(core.getLocation())
+                    .website(null)
+                    .joinedAt(core.getJoinedAt())
+                    .isVerified(false)
+                    .isPrivate(false)
+                    .relationship(sections.contains(SECTION_RELATIONSHIP) ? snapshot.toResponse() : null)
+                    .socialStats(sections.contains(SECTION_STATS) ? core.getSocialStats() : null)
+                    .educations(sections.contains(SECTION_EDUCATIONS) ? core.getEducations() : null)
+                    .workExperiences(sections.contains(SECTION_WORK) ? core.getWorkExperiences() : null)
+                    .interests(sections.contains(SECTION_INTERESTS) ? core.getInterests() : null)
+                    .locations(sections.contains(SECTION_LOCATIONS) ? core.getLocations() : null)
+                    .posts(await(postsFuture, deadline, SECTION_POSTS))
+                    .build();
+        } finally {
+            relationshipFuture.cancel(false);
+            postsFuture.cancel(false);
+        }
+    }
+
+    private RelationshipSnapshot loadRelationship(Long currentUserId, Long userId) {
+        if (currentUserId == null || currentUserId.equals(userId)) {
+            return new RelationshipSnapshot(true, false, false, false, false, null);
+        }
+        boolean isFollowing = followRepository.existsByFollowerIdAndFolloweeId(currentUserId, userId);
+        boolean isFollowedBy = followRepository.existsByFollowerIdAndFolloweeId(userId, currentUserId);
+        boolean isBlocked = userBlockRepository.existsByBlockerIdAndBlockedId(currentUserId, userId);
+        boolean isBlockedBy = userBlockRepository.existsByBlockerIdAndBlockedId(userId, currentUserId);
+        FriendshipStatus friendshipStatus = friendshipRepository
+                .findById(new FriendshipId(Math.min(currentUserId, userId), Math.max(currentUserId, userId)))
+                .map(Friendship::getStatus)
+                .orElse(null);
+        return new RelationshipSnapshot(false, isFollowing, isFollowedBy, isBlocked, isBlockedBy, friendshipStatus);
+    }
+
+    private CompletableFuture<ProfileDtos.SocialStatsResponse> loadSocialStats(Long userId) {
+        CompletableFuture<Long> followers = load(() -> followRepository.countByFollowee_Id(userId));
+        CompletableFuture<Long> following = load(() -> followRepository.countByFollower_Id(userId));
+        CompletableFuture<Long> friends = load(() -> friendshipRepository.countByUserLow_IdOrUserHigh_IdAndStatus(userId, userId, FriendshipStatus.accepted));
+        CompletableFuture<Long> posts = load(() -> postRepository.countByAuthor_IdAndDeletedAtIsNull(userId));
+        return CompletableFuture.allOf(followers, following, friends, posts)
+                .thenApply(ignored -> ProfileDtos.SocialStatsResponse.builder()
+                        .userId(userId)
+                        .followersCount(followers.join())
+                        .followingCount(following.join())
+                        .friendsCount(friends.join())
+                        .postsCount(posts.join())
+                        .likesCount(0)
+                        .commentsCount(0)
+                        .sharesCount(0)
+                        .build());
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, profileLoaderExecutor);
+    }
+
+    private <T> CompletableFuture<T> loadIf(Set<String> sections, String section, Supplier<T> supplier) {
+        return sections.contains(section) ? load(supplier) : CompletableFuture.completedFuture(null);
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadlineNanos, String section) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Profile section '{}' missed the {} ms load deadline", section, profileLoadTimeoutMs);
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to load profile section " + section, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading profile", e);
+        }
+    }
+
+    private record RelationshipSnapshot(boolean self, boolean isFollowing, boolean isFollowedBy,
+                                        boolean isBlocked, boolean isBlockedBy, FriendshipStatus friendshipStatus) {
+
+        boolean isFriend() {
+            return friendshipStatus == FriendshipStatus.accepted;
+        }
+
+        boolean canSendFriendRequest() {
+            return !self
+                    && friendshipStatus != FriendshipStatus.accepted
+                    && friendshipStatus != FriendshipStatus.pending
+                    && !isBlocked
+                    && !isBlockedBy;
+        }
+
+        ProfileDtos.RelationshipResponse toResponse() {
+            return buildRelationshipResponse(isFollowing, isFollowedBy, isFriend(), canSendFriendRequest(),
+                    friendshipStatus, isBlocked, isBlockedBy);
+        }
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:educations", "profiles:work", "profiles:interests", "profiles:locations"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "profiles:core", key = "#userId"),
+            @CacheEvict(cacheNames = {"profiles:followers", "profiles:following", "profiles:friends"}, allEntries = true)
+    })
     public ProfileDtos.ProfileUpdateResponse updateProfile(ProfileDtos.ProfileUpdateRequest request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -134,7 +309,10 @@ public class ProfileServiceImpl implements ProfileService {
         if (!canViewPosts(userId, currentUserId)) {
             throw new IllegalArgumentException("Cannot view posts - insufficient permissions");
         }
+        return loadVisiblePosts(userId, currentUserId, pageable);
+    }
 
+    private ProfileDtos.ProfilePostsResponse loadVisiblePosts(Long userId, Long currentUserId, Pageable pageable) {
         Page<Post> postPage = postRepository.findVisiblePostsByAuthor(userId, currentUserId, pageable);
         List<ProfileDtos.PostResponse> posts = postPage.getContent().stream()
                 .map(post -> toPostResponse(post, currentUserId))
@@ -449,7 +627,7 @@ public class ProfileServiceImpl implements ProfileService {
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:educations"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:educations"}, key = "#userId")
     public EducationDtos.Response createEducation(EducationDtos.CreateRequest request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -467,12 +645,13 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
 
         Education savedEducation = educationRepository.save(education);
+        suggestionDictionary.recordAdded(SuggestionType.school, savedEducation.getSchoolName(), savedEducation.getImageUrl());
         return toEducationResponse(savedEducation);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:educations"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:educations"}, key = "#userId")
     public EducationDtos.Response updateEducation(Long educationId, EducationDtos.UpdateRequest request, Long userId) {
         Education education = educationRepository.findById(educationId)
                 .orElseThrow(() -> new IllegalArgumentException("Education not found"));
@@ -481,6 +660,7 @@ public class ProfileServiceImpl implements ProfileService {
             throw new IllegalArgumentException("You can only update your own education");
         }
 
+        String previousSchoolName = education.getSchoolName();
         education.setSchoolName(request.getSchoolName());
         education.setDegree(request.getDegree());
         education.setFieldOfStudy(request.getFieldOfStudy());
@@ -505,12 +685,13 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         Education savedEducation = educationRepository.save(education);
+        suggestionDictionary.recordUpdated(SuggestionType.school, previousSchoolName, savedEducation.getSchoolName(), request.getImageUrl());
         return toEducationResponse(savedEducation);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:educations"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:educations"}, key = "#userId")
     public void deleteEducation(Long educationId, Long userId) {
         Education education = educationRepository.findById(educationId)
                 .orElseThrow(() -> new IllegalArgumentException("Education not found"));
@@ -533,6 +714,7 @@ public class ProfileServiceImpl implements ProfileService {
 
         education.setDeletedAt(LocalDateTime.now());
         educationRepository.save(education);
+        suggestionDictionary.recordRemoved(SuggestionType.school, education.getSchoolName());
     }
 
     @Override
@@ -546,7 +728,7 @@ public class ProfileServiceImpl implements ProfileService {
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:work"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:work"}, key = "#userId")
     public WorkExperienceDtos.Response createWorkExperience(WorkExperienceDtos.CreateRequest request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -564,12 +746,13 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
 
         WorkExperience savedWorkExperience = workExperienceRepository.save(workExperience);
+        suggestionDictionary.recordAdded(SuggestionType.company, savedWorkExperience.getCompanyName(), savedWorkExperience.getImageUrl());
         return toWorkExperienceResponse(savedWorkExperience);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:work"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:work"}, key = "#userId")
     public WorkExperienceDtos.Response updateWorkExperience(Long workExperienceId, WorkExperienceDtos.UpdateRequest request, Long userId) {
         WorkExperience workExperience = workExperienceRepository.findById(workExperienceId)
                 .orElseThrow(() -> new IllegalArgumentException("Work experience not found"));
@@ -578,6 +761,7 @@ public class ProfileServiceImpl implements ProfileService {
             throw new IllegalArgumentException("You can only update your own work experience");
         }
 
+        String previousCompanyName = workExperience.getCompanyName();
         workExperience.setCompanyName(request.getCompanyName());
         workExperience.setPosition(request.getPosition());
         workExperience.setLocation(request.getLocation());
@@ -602,12 +786,13 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         WorkExperience savedWorkExperience = workExperienceRepository.save(workExperience);
+        suggestionDictionary.recordUpdated(SuggestionType.company, previousCompanyName, savedWorkExperience.getCompanyName(), request.getImageUrl());
         return toWorkExperienceResponse(savedWorkExperience);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:work"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:work"}, key = "#userId")
     public void deleteWorkExperience(Long workExperienceId, Long userId) {
         WorkExperience workExperience = workExperienceRepository.findById(workExperienceId)
                 .orElseThrow(() -> new IllegalArgumentException("Work experience not found"));
@@ -630,6 +815,7 @@ public class ProfileServiceImpl implements ProfileService {
 
         workExperience.setDeletedAt(LocalDateTime.now());
         workExperienceRepository.save(workExperience);
+        suggestionDictionary.recordRemoved(SuggestionType.company, workExperience.getCompanyName());
     }
 
     @Override
@@ -676,7 +862,7 @@ public class ProfileServiceImpl implements ProfileService {
     // Interest management methods
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:interests"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:interests"}, key = "#userId")
     public InterestDtos.Response createInterest(InterestDtos.CreateRequest request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -690,12 +876,13 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
 
         Interest savedInterest = interestRepository.save(interest);
+        suggestionDictionary.recordAdded(SuggestionType.interest, savedInterest.getName(), savedInterest.getImageUrl());
         return toInterestResponse(savedInterest);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:interests"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:interests"}, key = "#userId")
     public InterestDtos.Response updateInterest(Long interestId, InterestDtos.UpdateRequest request, Long userId) {
         Interest interest = interestRepository.findById(interestId)
                 .orElseThrow(() -> new IllegalArgumentException("Interest not found"));
@@ -704,6 +891,7 @@ public class ProfileServiceImpl implements ProfileService {
             throw new IllegalArgumentException("You can only update your own interests");
         }
 
+        String previousName = interest.getName();
         if (request.getName() != null) {
             interest.setName(request.getName());
         }
@@ -718,12 +906,13 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         Interest updatedInterest = interestRepository.save(interest);
+        suggestionDictionary.recordUpdated(SuggestionType.interest, previousName, updatedInterest.getName(), request.getImageUrl());
         return toInterestResponse(updatedInterest);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:interests"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:interests"}, key = "#userId")
     public void deleteInterest(Long interestId, Long userId) {
         Interest interest = interestRepository.findById(interestId)
                 .orElseThrow(() -> new IllegalArgumentException("Interest not found"));
@@ -734,6 +923,7 @@ public class ProfileServiceImpl implements ProfileService {
 
         interest.setDeletedAt(LocalDateTime.now());
         interestRepository.save(interest);
+        suggestionDictionary.recordRemoved(SuggestionType.interest, interest.getName());
     }
 
     @Override
@@ -748,7 +938,7 @@ public class ProfileServiceImpl implements ProfileService {
     // Location management methods
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:locations"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:locations"}, key = "#userId")
     public LocationDtos.Response createLocation(LocationDtos.CreateRequest request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -766,12 +956,13 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
 
         UserLocation savedLocation = userLocationRepository.save(location);
+        suggestionDictionary.recordAdded(SuggestionType.location, savedLocation.getLocationName(), savedLocation.getImageUrl());
         return toLocationResponse(savedLocation);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:locations"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:locations"}, key = "#userId")
     public LocationDtos.Response updateLocation(Long locationId, LocationDtos.UpdateRequest request, Long userId) {
         UserLocation location = userLocationRepository.findById(locationId)
                 .orElseThrow(() -> new IllegalArgumentException("Location not found"));
@@ -780,6 +971,7 @@ public class ProfileServiceImpl implements ProfileService {
             throw new IllegalArgumentException("You can only update your own locations");
         }
 
+        String previousLocationName = location.getLocationName();
         if (request.getLocationName() != null) {
             location.setLocationName(request.getLocationName());
         }
@@ -806,12 +998,13 @@ public class ProfileServiceImpl implements ProfileService {
         }
 
         UserLocation updatedLocation = userLocationRepository.save(location);
+        suggestionDictionary.recordUpdated(SuggestionType.location, previousLocationName, updatedLocation.getLocationName(), request.getImageUrl());
         return toLocationResponse(updatedLocation);
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"profiles:user", "profiles:user-posts", "profiles:social", "profiles:followers", "profiles:following", "profiles:friends", "profiles:locations"}, allEntries = true)
+    @CacheEvict(cacheNames = {"profiles:core", "profiles:locations"}, key = "#userId")
     public void deleteLocation(Long locationId, Long userId) {
         UserLocation location = userLocationRepository.findById(locationId)
                 .orElseThrow(() -> new IllegalArgumentException("Location not found"));
@@ -822,6 +1015,7 @@ public class ProfileServiceImpl implements ProfileService {
 
         location.setDeletedAt(LocalDateTime.now());
         userLocationRepository.save(location);
+        suggestionDictionary.recordRemoved(SuggestionType.location, location.getLocationName());
     }
 
     @Override
@@ -861,7 +1055,7 @@ public class ProfileServiceImpl implements ProfileService {
                 .build();
     }
 
-    private ProfileDtos.RelationshipResponse buildRelationshipResponse(
+    private static ProfileDtos.RelationshipResponse buildRelationshipResponse(
             boolean isFollowing, boolean isFollowedBy, boolean isFriend, 
             boolean canSendFriendRequest, FriendshipStatus friendshipStatus,
             boolean isBlocked, boolean isBlockedBy) {
@@ -1,5 +1,6 @@
 package com.ainnect.service.impl;
 
+import com.ainnect.common.enums.GroupMemberRole;
 import com.ainnect.dto.search.SearchDtos;
 import com.ainnect.entity.Community;
 import com.ainnect.entity.Post;
@@ -11,14 +12,20 @@ import com.ainnect.repository.GroupMemberRepository;
 import com.ainnect.repository.PostRepository;
 import com.ainnect.repository.UserBlockRepository;
 import com.ainnect.repository.UserRepository;
+import com.ainnect.service.SearchResultCache;
 import com.ainnect.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +39,7 @@ public class SearchServiceImpl implements SearchService {
     private final FriendshipRepository friendshipRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final UserBlockRepository userBlockRepository;
+    private final SearchResultCache searchResultCache;
     
         @org.springframework.beans.factory.annotation.Value("${app.file.base-url:http://localhost:8080}")
         private String baseUrl;
@@ -42,17 +50,15 @@ public class SearchServiceImpl implements SearchService {
         Pageable smallPageable = PageRequest.of(0, 5);
         
         // Search users
-        Page<User> userPage = userRepository.searchUsers(keyword, smallPageable);
+        Page<User> userPage = findUsers(keyword, smallPageable);
         List<SearchDtos.UserSearchResult> users = userPage.getContent().stream()
                 .filter(user -> !isBlockedBetween(currentUserId, user.getId()))
                 .map(user -> toUserSearchResult(user, currentUserId))
                 .collect(Collectors.toList());
 
         // Search groups
-        Page<Community> groupPage = communityRepository.searchCommunities(keyword, smallPageable);
-        List<SearchDtos.GroupSearchResult> groups = groupPage.getContent().stream()
-                .map(group -> toGroupSearchResult(group, currentUserId))
-                .collect(Collectors.toList());
+        Page<Community> groupPage = findGroups(keyword, smallPageable);
+        List<SearchDtos.GroupSearchResult> groups = toGroupSearchResults(groupPage.getContent(), currentUserId);
 
         // Search posts
         Page<Post> postPage = postRepository.searchPosts(keyword, currentUserId, smallPageable);
@@ -77,7 +83,7 @@ public class SearchServiceImpl implements SearchService {
 
     @Override
     public SearchDtos.UserSearchResponse searchUsers(String keyword, Long currentUserId, Pageable pageable) {
-        Page<User> userPage = userRepository.searchUsers(keyword, pageable);
+        Page<User> userPage = findUsers(keyword, pageable);
         List<SearchDtos.UserSearchResult> users = userPage.getContent().stream()
                 .filter(user -> !isBlockedBetween(currentUserId, user.getId()))
                 .map(user -> toUserSearchResult(user, currentUserId))
@@ -97,10 +103,8 @@ public class SearchServiceImpl implements SearchService {
 
     @Override
     public SearchDtos.GroupSearchResponse searchGroups(String keyword, Long currentUserId, Pageable pageable) {
-        Page<Community> groupPage = communityRepository.searchCommunities(keyword, pageable);
-        List<SearchDtos.GroupSearchResult> groups = groupPage.getContent().stream()
-                .map(group -> toGroupSearchResult(group, currentUserId))
-                .collect(Collectors.toList());
+        Page<Community> groupPage = findGroups(keyword, pageable);
+        List<SearchDtos.GroupSearchResult> groups = toGroupSearchResults(groupPage.getContent(), currentUserId);
 
         return SearchDtos.GroupSearchResponse.builder()
                 .groups(groups)
@@ -133,6 +137,37 @@ public class SearchServiceImpl implements SearchService {
                 .build();
     }
 
+    private Page<User> findUsers(String keyword, Pageable pageable) {
+        String normalized = SearchResultCache.normalize(keyword);
+        SearchResultCache.Hits hits = searchResultCache.get(normalized, SearchResultCache.TYPE_USERS,
+                pageable.getPageNumber(), pageable.getPageSize(), () -> {
+                    Page<Long> ids = userRepository.searchUserIds(normalized, pageable);
+                    return new SearchResultCache.Hits(ids.getContent(), ids.getTotalElements());
+                });
+        Map<Long, User> byId = userRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return new PageImpl<>(orderByIds(hits.ids(), byId), pageable, hits.totalElements());
+    }
+
+    private Page<Community> findGroups(String keyword, Pageable pageable) {
+        String normalized = SearchResultCache.normalize(keyword);
+        SearchResultCache.Hits hits = searchResultCache.get(normalized, SearchResultCache.TYPE_GROUPS,
+                pageable.getPageNumber(), pageable.getPageSize(), () -> {
+                    Page<Long> ids = communityRepository.searchCommunityIds(normalized, pageable);
+                    return new SearchResultCache.Hits(ids.getContent(), ids.getTotalElements());
+                });
+        Map<Long, Community> byId = hits.ids().isEmpty() ? Map.of() : communityRepository.findByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(Community::getId, Function.identity()));
+        return new PageImpl<>(orderByIds(hits.ids(), byId), pageable, hits.totalElements());
+    }
+
+    private <T> List<T> orderByIds(List<Long> ids, Map<Long, T> byId) {
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     private SearchDtos.UserSearchResult toUserSearchResult(User user, Long currentUserId) {
         boolean isFollowing = false;
         boolean isFriend = false;
@@ -173,36 +208,31 @@ public class SearchServiceImpl implements SearchService {
                 || userBlockRepository.existsByBlockerIdAndBlockedId(otherUserId, currentUserId);
     }
 
-    private SearchDtos.GroupSearchResult toGroupSearchResult(Community group, Long currentUserId) {
-        boolean isMember = false;
-        boolean isAdmin = false;
-
-        if (currentUserId != null) {
-            // Check if current user is a member
-            isMember = groupMemberRepository.existsByGroupIdAndUserId(group.getId(), currentUserId);
-            
-            // Check if current user is an admin
-            isAdmin = groupMemberRepository.existsByGroupIdAndUserIdAndRole(
-                    group.getId(), 
-                    currentUserId, 
-                    com.ainnect.common.enums.GroupMemberRole.admin
-            );
+    private List<SearchDtos.GroupSearchResult> toGroupSearchResults(List<Community> groups, Long currentUserId) {
+        Map<Long, GroupMemberRole> roles = new HashMap<>();
+        if (currentUserId != null && !groups.isEmpty()) {
+            List<Long> groupIds = groups.stream().map(Community::getId).collect(Collectors.toList());
+            for (Object[] row : groupMemberRepository.findRolesByUserIdAndGroupIds(currentUserId, groupIds)) {
+                roles.put((Long) row[0], (GroupMemberRole) row[1]);
+            }
         }
 
-        // Get member count
-        int memberCount = groupMemberRepository.countByGroupId(group.getId());
-
-        return SearchDtos.GroupSearchResult.builder()
-                .id(group.getId())
-                .name(group.getName())
-                .description(group.getDescription())
-                .avatarUrl(null) // Community doesn't have avatarUrl field
-                .coverUrl(null) // Community doesn't have coverUrl field
-                .memberCount(memberCount)
-                .isMember(isMember)
-                .isAdmin(isAdmin)
-                .createdAt(group.getCreatedAt())
-                .build();
+        return groups.stream()
+                .map(group -> {
+                    GroupMemberRole role = roles.get(group.getId());
+                    return SearchDtos.GroupSearchResult.builder()
+                            .id(group.getId())
+                            .name(group.getName())
+                            .description(group.getDescription())
+                            .avatarUrl(null) // Community doesn't have avatarUrl field
+                            .coverUrl(null) // Community doesn't have coverUrl field
+                            .memberCount(group.getMemberCount())
+                            .isMember(role != null)
+                            .isAdmin(role == GroupMemberRole.admin)
+                            .createdAt(group.getCreatedAt())
+                            .build();
+                })
+                .collect(Collectors.toList());
     }
 
     private SearchDtos.PostSearchResult toPostSearchResult(Post post) {
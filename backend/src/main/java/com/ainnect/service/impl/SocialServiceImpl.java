@@ -6,6 +6,7 @@ import com.ainnect.entity.*;
 import com.ainnect.repository.*;
 import com.ainnect.service.SocialService;
 import com.ainnect.service.NotificationIntegrationService;
+import com.ainnect.service.PresenceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -28,6 +30,7 @@ public class SocialServiceImpl implements SocialService {
     private final PostRepository postRepository;
     private final ReportRepository reportRepository;
         private final NotificationIntegrationService notificationIntegrationService;
+    private final PresenceService presenceService;
 
     @Override
     @Transactional
@@ -483,6 +486,23 @@ public class SocialServiceImpl implements SocialService {
         return createFriendshipListResponse(acceptedFriendships, page, size, userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<SocialDtos.FriendPresenceResponse> getFriendsPresence(Long userId) {
+        List<Long> friendIds = friendshipRepository.findOtherUserIds(userId, FriendshipStatus.accepted);
+        Map<Long, PresenceService.Presence> presence = presenceService.getPresence(friendIds);
+        return friendIds.stream()
+                .map(friendId -> {
+                    PresenceService.Presence p = presence.get(friendId);
+                    return SocialDtos.FriendPresenceResponse.builder()
+                            .userId(friendId)
+                            .isOnline(p != null && p.online())
+                            .lastSeenAt(p != null ? p.lastSeenAt() : null)
+                            .build();
+                })
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SocialDtos.FriendshipListResponse getFriendRequests(Long userId, int page, int size) {
@@ -1167,6 +1187,16 @@ public class SocialServiceImpl implements SocialService {
         List<SocialDtos.FriendshipResponse> friendshipResponses = friendships.subList(start, end).stream()
                 .map(f -> toFriendshipResponse(f, currentUserId))
                 .toList();
+        Map<Long, PresenceService.Presence> presence = presenceService.getPresence(friendshipResponses.stream()
+                .map(SocialDtos.FriendshipResponse::getUserId)
+                .toList());
+        for (SocialDtos.FriendshipResponse response : friendshipResponses) {
+            PresenceService.Presence p = presence.get(response.getUserId());
+            if (p != null) {
+                response.setOnline(p.online());
+                response.setLastSeenAt(p.lastSeenAt());
+            }
+        }
 
         return SocialDtos.FriendshipListResponse.builder()
                 .friendships(friendshipResponses)
@@ -1,10 +1,9 @@
 package com.ainnect.service.impl;
 
+import com.ainnect.common.enums.SuggestionType;
 import com.ainnect.dto.suggestion.SuggestionDtos;
-import com.ainnect.repository.EducationRepository;
 import com.ainnect.repository.InterestRepository;
-import com.ainnect.repository.UserLocationRepository;
-import com.ainnect.repository.WorkExperienceRepository;
+import com.ainnect.service.SuggestionDictionary;
 import com.ainnect.service.SuggestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,100 +19,50 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class SuggestionServiceImpl implements SuggestionService {
 
-    private final EducationRepository educationRepository;
-    private final WorkExperienceRepository workExperienceRepository;
     private final InterestRepository interestRepository;
-    private final UserLocationRepository userLocationRepository;
+    private final SuggestionDictionary suggestionDictionary;
 
     @Override
     public List<SuggestionDtos.SchoolSuggestion> suggestSchools(String query, int limit) {
-        List<String> schoolNames = educationRepository.findDistinctSchoolNamesContainingIgnoreCase(query);
-        
-        return schoolNames.stream()
-                .limit(limit)
-                .map(schoolName -> {
-                    Long count = educationRepository.countBySchoolName(schoolName);
-                    String imageUrl = educationRepository.findBySchoolNameWithImage(schoolName)
-                            .stream()
-                            .findFirst()
-                            .map(edu -> edu.getImageUrl())
-                            .orElse(null);
-                    
-                    return SuggestionDtos.SchoolSuggestion.builder()
-                            .schoolName(schoolName)
-                            .count(count)
-                            .imageUrl(imageUrl)
-                            .build();
-                })
+        return suggestionDictionary.lookup(SuggestionType.school, query, limit).stream()
+                .map(entry -> SuggestionDtos.SchoolSuggestion.builder()
+                        .schoolName(entry.getName())
+                        .count(entry.getCount())
+                        .imageUrl(entry.getImageUrl())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<SuggestionDtos.CompanySuggestion> suggestCompanies(String query, int limit) {
-        List<String> companyNames = workExperienceRepository.findDistinctCompanyNamesContainingIgnoreCase(query);
-        
-        return companyNames.stream()
-                .limit(limit)
-                .map(companyName -> {
-                    Long count = workExperienceRepository.countByCompanyName(companyName);
-                    String imageUrl = workExperienceRepository.findByCompanyNameWithImage(companyName)
-                            .stream()
-                            .findFirst()
-                            .map(work -> work.getImageUrl())
-                            .orElse(null);
-                    
-                    return SuggestionDtos.CompanySuggestion.builder()
-                            .companyName(companyName)
-                            .count(count)
-                            .imageUrl(imageUrl)
-                            .build();
-                })
+        return suggestionDictionary.lookup(SuggestionType.company, query, limit).stream()
+                .map(entry -> SuggestionDtos.CompanySuggestion.builder()
+                        .companyName(entry.getName())
+                        .count(entry.getCount())
+                        .imageUrl(entry.getImageUrl())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<SuggestionDtos.InterestSuggestion> suggestInterests(String query, int limit) {
-        List<String> interestNames = interestRepository.findDistinctNamesContainingIgnoreCase(query);
-        
-        return interestNames.stream()
-                .limit(limit)
-                .map(name -> {
-                    Long count = interestRepository.countByName(name);
-                    String imageUrl = interestRepository.findByNameWithImage(name)
-                            .stream()
-                            .findFirst()
-                            .map(interest -> interest.getImageUrl())
-                            .orElse(null);
-                    
-                    return SuggestionDtos.InterestSuggestion.builder()
-                            .name(name)
-                            .count(count)
-                            .imageUrl(imageUrl)
-                            .build();
-                })
+        return suggestionDictionary.lookup(SuggestionType.interest, query, limit).stream()
+                .map(entry -> SuggestionDtos.InterestSuggestion.builder()
+                        .name(entry.getName())
+                        .count(entry.getCount())
+                        .imageUrl(entry.getImageUrl())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<SuggestionDtos.LocationSuggestion> suggestLocations(String query, int limit) {
-        List<String> locationNames = userLocationRepository.findDistinctLocationNamesContainingIgnoreCase(query);
-        
-        return locationNames.stream()
-                .limit(limit)
-                .map(locationName -> {
-                    Long count = userLocationRepository.countByLocationName(locationName);
-                    String imageUrl = userLocationRepository.findByLocationNameWithImage(locationName)
-                            .stream()
-                            .findFirst()
-                            .map(location -> location.getImageUrl())
-                            .orElse(null);
-                    
-                    return SuggestionDtos.LocationSuggestion.builder()
-                            .locationName(locationName)
-                            .count(count)
-                            .imageUrl(imageUrl)
-                            .build();
-                })
+        return suggestionDictionary.lookup(SuggestionType.location, query, limit).stream()
+                .map(entry -> SuggestionDtos.LocationSuggestion.builder()
+                        .locationName(entry.getName())
+                        .count(entry.getCount())
+                        .imageUrl(entry.getImageUrl())
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -7,6 +7,7 @@ import com.ainnect.repository.UserRepository;
 import com.ainnect.service.UserService;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -72,6 +73,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = "profiles:core", key = "#userId")
     public UserDtos.Response updateUser(Long userId, UserDtos.UpdateRequest request) {
         User user = findById(userId)
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy user với ID: " + userId));
@@ -0,0 +1,202 @@
+package com.ainnect.service;
+
+import com.ainnect.config.InMemoryWebSocketClusterBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpSubscriptionMatcher;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Two application contexts joined by the in-memory cluster bus, standing in
+ * for two nodes. Each node's broker channel is captured, so the test sees
+ * exactly what would be handed to the local sessions.
+ */
+class WebSocketRelayClusterTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new Node("node-a", null);
+        nodeB = new Node("node-b", "alice");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void topicFrameFromNodeAReachesNodeB() throws Exception {
+        nodeA.relay().send("/topic/conversations/1", Map.of("id", 1));
+
+        Message<?> local = nodeA.next();
+        assertEquals("/topic/conversations/1", destination(local));
+
+        Message<?> remote = nodeB.next();
+        assertNotNull(remote, "node B did not receive the topic frame");
+        assertEquals("/topic/conversations/1", destination(remote));
+        assertEquals("{\"id\":1}", body(remote));
+
+        assertOriginIgnoresOwnFrame();
+    }
+
+    @Test
+    void userFrameFromNodeAReachesSessionOnNodeB() throws Exception {
+        nodeA.relay().sendToUser("alice", "/queue/notifications", Map.of("unread", 3));
+
+        Message<?> local = nodeA.next();
+        assertEquals("/user/alice/queue/notifications", destination(local));
+
+        Message<?> remote = nodeB.next();
+        assertNotNull(remote, "node B did not receive the user frame");
+        assertEquals("/user/alice/queue/notifications", destination(remote));
+        assertEquals("{\"unread\":3}", body(remote));
+
+        assertOriginIgnoresOwnFrame();
+    }
+
+    @Test
+    void userFrameIsDroppedOnNodeWithoutThatUser() throws Exception {
+        nodeB.relay().sendToUser("bob", "/queue/notifications", Map.of("unread", 1));
+        nodeB.next();
+
+        assertOriginIgnoresOwnFrame();
+        assertNull(nodeB.queue.poll(), "node B delivered its own frame twice");
+    }
+
+    /**
+     * The bus dispatches frames one at a time in publish order, so once a
+     * marker published by node B has reached node A, node A has also handled
+     * every frame it published itself.
+     */
+    private void assertOriginIgnoresOwnFrame() throws Exception {
+        nodeB.relay().send("/topic/marker", Map.of());
+        nodeB.next();
+
+        Message<?> next = nodeA.next();
+        assertNotNull(next, "marker frame did not reach node A");
+        assertEquals("/topic/marker", destination(next));
+        assertNull(nodeA.queue.poll(), "node A delivered its own frame twice");
+    }
+
+    private static String destination(Message<?> message) {
+        return SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    }
+
+    private static String body(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+
+    private static final class Node implements AutoCloseable {
+
+        private final BlockingQueue<Message<?>> queue = new LinkedBlockingQueue<>();
+        private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+        Node(String nodeId, String connectedUser) {
+            SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> queue.add(message));
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("cluster", Map.of(
+                    "app.websocket.cluster.enabled", "true",
+                    "app.websocket.cluster.bus", "memory")));
+            context.registerBean(InMemoryWebSocketClusterBus.class);
+            context.registerBean(WebSocketRelay.class, () -> new WebSocketRelay(
+                    template,
+                    new SingleUserRegistry(connectedUser),
+                    new ObjectMapper(),
+                    context.getBeanProvider(WebSocketClusterBus.class),
+                    nodeId));
+            context.refresh();
+        }
+
+        WebSocketRelay relay() {
+            return context.getBean(WebSocketRelay.class);
+        }
+
+        Message<?> next() throws InterruptedException {
+            return queue.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+
+    private record SingleUserRegistry(String username) implements SimpUserRegistry {
+
+        @Override
+        public SimpUser getUser(String userName) {
+            if (!userName.equals(username)) {
+                return null;
+            }
+            return new SimpUser() {
+                @Override
+                public String getName() {
+                    return username;
+                }
+
+                @Override
+                public Principal getPrincipal() {
+                    return () -> username;
+                }
+
+                @Override
+                public boolean hasSessions() {
+                    return true;
+                }
+
+                @Override
+                public SimpSession getSession(String sessionId) {
+                    return null;
+                }
+
+                @Override
+                public Set<SimpSession> getSessions() {
+                    return Set.of();
+                }
+            };
+        }
+
+        @Override
+        public Set<SimpUser> getUsers() {
+            SimpUser user = username != null ? getUser(username) : null;
+            return user != null ? Set.of(user) : Set.of();
+        }
+
+        @Override
+        public int getUserCount() {
+            return getUsers().size();
+        }
+
+        @Override
+        public Set<SimpSubscription> findSubscriptions(SimpSubscriptionMatcher matcher) {
+            return Set.of();
+        }
+    }
+}
@@ -6,7 +6,7 @@ import { Button } from './ui';
 import { AnimatedLogo } from './AnimatedLogo';
 import { websocketService } from '../services/websocketService';
 import { WebSocketMessage } from '../types/messaging';
-import { notificationService, NotificationResponse, NotificationStatsDto } from '../services/notificationService';
+import { notificationService, mergeNotifications, NotificationBatchData, NotificationResponse, NotificationStatsDto } from '../services/notificationService';
 import { NotificationDropdown } from './NotificationDropdown';
 
 interface HeaderProps {
@@ -63,9 +63,32 @@ export const Header: React.FC<HeaderProps> = ({
 
   // Subscribe to realtime notifications via WebSocket
   useEffect(() => {
+    const setUnread = (count: number) => {
+      setUnreadCount(count);
+      setNotificationStats(prev => ({ ...prev, unreadCount: count }));
+    };
+
     const handleNotificationMessage = (message: WebSocketMessage) => {
       console.log('Received notification:', message);
-      
+
+      if (message.type === 'NOTIFICATION_BATCH') {
+        const batch = message.data as NotificationBatchData;
+        if (batch.truncated) {
+          notificationService.getUserNotifications(0, 10)
+            .then(data => setNotifications(data.content))
+            .catch(error => console.error('Failed to reload notifications:', error));
+        } else {
+          setNotifications(prev => mergeNotifications(prev, batch.notifications).slice(0, 10));
+        }
+        setUnread(batch.unreadCount);
+        return;
+      }
+
+      if (message.type === 'NOTIFICATION_UNREAD_COUNT') {
+        setUnread(message.data.unreadCount);
+        return;
+      }
+
       // Add new notification to the list
       if (message.data) {
         const newNotification = message.data as NotificationResponse;
@@ -2,7 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { Header } from '../components/Header';
 import { Sidebar } from '../components/Sidebar';
-import { notificationService, NotificationResponse, NotificationType } from '../services/notificationService';
+import { notificationService, mergeNotifications, NotificationBatchData, NotificationResponse, NotificationType } from '../services/notificationService';
 import { websocketService } from '../services/websocketService';
 import { WebSocketMessage } from '../types/messaging';
 import { formatDistanceToNow } from 'date-fns';
@@ -46,13 +46,27 @@ export const NotificationsPage: React.FC = () => {
   const [page, setPage] = useState(0);
   const [hasMore, setHasMore] = useState(true);
   const [filter, setFilter] = useState<'all' | 'unread'>('all');
+  const [reloadKey, setReloadKey] = useState(0);
 
   useEffect(() => {
     loadNotifications();
-  }, [page, filter]);
+  }, [page, filter, reloadKey]);
 
   useEffect(() => {
     const handleNotificationMessage = (message: WebSocketMessage) => {
+      if (message.type === 'NOTIFICATION_BATCH') {
+        const batch = message.data as NotificationBatchData;
+        if (batch.truncated) {
+          setPage(0);
+          setReloadKey((key) => key + 1);
+        } else {
+          setNotifications((prev) => mergeNotifications(prev, batch.notifications));
+        }
+        return;
+      }
+      if (message.type === 'NOTIFICATION_UNREAD_COUNT') {
+        return;
+      }
       if (message.data) {
         const newNotification = message.data as NotificationResponse;
         setNotifications((prev) => [newNotification, ...prev]);
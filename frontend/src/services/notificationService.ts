@@ -38,6 +38,25 @@ export interface NotificationResponse {
   readAt?: string;
 }
 
+// Payload of a NOTIFICATION_BATCH frame: notifications created or updated
+// since the last frame, oldest first, plus the unread count at send time.
+// truncated means older ones were dropped and the list should be refetched.
+export interface NotificationBatchData {
+  notifications: NotificationResponse[];
+  unreadCount: number;
+  truncated: boolean;
+}
+
+// Puts incoming notifications (oldest first) on top of the list, replacing
+// earlier copies of updated aggregates.
+export const mergeNotifications = (
+  current: NotificationResponse[],
+  incoming: NotificationResponse[]
+): NotificationResponse[] => {
+  const ids = new Set(incoming.map(n => n.id));
+  return [...incoming].reverse().concat(current.filter(n => !ids.has(n.id)));
+};
+
 export interface NotificationStatsDto {
   unreadCount: number;
   totalCount: number;
@@ -166,7 +166,7 @@ export interface TypingRequest {
 
 // WebSocket message types
 export interface WebSocketMessage {
-  type: 'NEW_MESSAGE' | 'TYPING' | 'ERROR' | 'MESSAGE_READ' | 'MESSAGE_UPDATED' | 'MESSAGE_DELETED' | 'MESSAGE_REACTION' | 'USER_JOINED' | 'USER_LEFT' | 'NOTIFICATION_NEW' | 'NEW_CONVERSATION' | 'MEMBER_ADDED';
+  type: 'NEW_MESSAGE' | 'TYPING' | 'ERROR' | 'MESSAGE_READ' | 'MESSAGE_UPDATED' | 'MESSAGE_DELETED' | 'MESSAGE_REACTION' | 'USER_JOINED' | 'USER_LEFT' | 'NOTIFICATION_NEW' | 'NOTIFICATION_BATCH' | 'NOTIFICATION_UNREAD_COUNT' | 'NEW_CONVERSATION' | 'MEMBER_ADDED';
   data: any;
   conversationId: number;
   senderId: number;